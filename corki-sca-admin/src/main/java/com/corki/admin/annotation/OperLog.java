@@ -0,0 +1,52 @@
+package com.corki.admin.annotation;
+
+import com.corki.admin.common.enums.BusinessTypeEnum;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 操作日志注解
+ * 标注在控制器方法上，由 OperLogAspect 记录请求、结果与耗时，异步批量写入 operation_log
+ *
+ * @author Corki
+ * @since 2026-10-17
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface OperLog {
+
+    /**
+     * 模块标题
+     */
+    String title() default "";
+
+    /**
+     * 业务类型
+     */
+    BusinessTypeEnum businessType() default BusinessTypeEnum.OTHER;
+
+    /**
+     * 是否保存请求参数
+     */
+    boolean saveRequestData() default true;
+
+    /**
+     * 是否保存返回结果
+     */
+    boolean saveResponseData() default true;
+
+    /**
+     * 不记录的参数字段，在默认排除的密码字段之外追加
+     */
+    String[] excludeParamNames() default {};
+
+    /**
+     * 成功请求的采样率（0~1），小于 0 表示使用全局配置 operLog.sampleRate；异常请求总是记录
+     */
+    double sampleRate() default -1;
+}
@@ -0,0 +1,284 @@
+package com.corki.admin.aspect;
+
+import cn.hutool.core.convert.Convert;
+import cn.hutool.core.util.ArrayUtil;
+import cn.hutool.core.util.StrUtil;
+import com.corki.admin.annotation.OperLog;
+import com.corki.admin.dao.entity.OperationLog;
+import com.corki.admin.service.OperLogWriter;
+import com.corki.common.utils.ClientIpUtil;
+import com.corki.common.utils.StpAdminUtil;
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.Resource;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.InputStreamSource;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.BindingResult;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 操作日志 AOP
+ * 切入 {@link OperLog} 标注的方法，记录方法、URL、参数、结果与耗时，交给 OperLogWriter 异步批量写入。
+ * 采样在序列化之前决定，未采中的成功请求不做任何 JSON 序列化；
+ * 参数与结果序列化写入定长缓冲，生成器第一次刷出超过 operation_log 列长度的内容时即中止，
+ * 大对象只会序列化到一个生成器缓冲区左右的长度。
+ *
+ * @author Corki
+ * @since 2026-10-17
+ */
+@Slf4j
+@Aspect
+@Component
+public class OperLogAspect {
+
+    /**
+     * operation_log 中 oper_param、json_result、error_msg 的列长度
+     */
+    private static final int MAX_LENGTH = 2000;
+
+    private static final String FILTER_ID = "operLogFilter";
+
+    private static final String[] DEFAULT_EXCLUDE_PARAM_NAMES = {"password", "oldPassword", "newPassword", "confirmPassword"};
+
+    private static final int STATUS_SUCCESS = 0;
+
+    private static final int STATUS_FAIL = 1;
+
+    /**
+     * 操作类别：后台用户
+     */
+    private static final int OPERATOR_TYPE_ADMIN = 1;
+
+    @Resource
+    private OperLogWriter operLogWriter;
+
+    @Resource
+    private ObjectMapper objectMapper;
+
+    /**
+     * 成功请求的全局采样率，注解未指定时使用
+     */
+    @Value("${operLog.sampleRate:1.0}")
+    private double sampleRate;
+
+    private ObjectMapper filteringMapper;
+
+    /**
+     * 排除字段组合 -> 带过滤器的 ObjectWriter，同一注解配置复用
+     */
+    private final Map<Set<String>, ObjectWriter> writers = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init() {
+        // 为所有 Bean 挂上属性过滤器，用于排除密码等字段
+        filteringMapper = objectMapper.copy().addMixIn(Object.class, PropertyFilterMixIn.class);
+    }
+
+    @Around("@annotation(operLog)")
+    public Object doAround(ProceedingJoinPoint joinPoint, OperLog operLog) throws Throwable {
+        long startTime = System.currentTimeMillis();
+        boolean sampled = sampled(operLog);
+        Object result;
+        try {
+            result = joinPoint.proceed();
+        } catch (Throwable e) {
+            record(joinPoint, operLog, startTime, null, e);
+            throw e;
+        }
+        if (sampled) {
+            record(joinPoint, operLog, startTime, result, null);
+        }
+        return result;
+    }
+
+    private boolean sampled(OperLog operLog) {
+        double rate = operLog.sampleRate() >= 0 ? operLog.sampleRate() : sampleRate;
+        return rate >= 1 || (rate > 0 && ThreadLocalRandom.current().nextDouble() < rate);
+    }
+
+    private void record(ProceedingJoinPoint joinPoint, OperLog operLog, long startTime, Object result, Throwable error) {
+        try {
+            OperationLog operationLog = new OperationLog();
+            operationLog.setTitle(operLog.title());
+            operationLog.setBusinessType(operLog.businessType().getCode());
+            MethodSignature signature = (MethodSignature) joinPoint.getSignature();
+            operationLog.setMethod(signature.getDeclaringType().getSimpleName() + "." + signature.getName() + "()");
+            operationLog.setOperatorType(OPERATOR_TYPE_ADMIN);
+            // 用户名由 OperLogWriter 写库前按ID批量解析，不在请求线程查询
+            operationLog.setOperatorId(Convert.toLong(StpAdminUtil.getLoginIdDefaultNull()));
+            if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+                HttpServletRequest request = attributes.getRequest();
+                operationLog.setRequestMethod(request.getMethod());
+                operationLog.setOperUrl(StrUtil.maxLength(request.getRequestURI(), 255 - 3));
+                operationLog.setOperIp(ClientIpUtil.getClientIp(request));
+            }
+
+            ObjectWriter writer = writer(operLog.excludeParamNames());
+            if (operLog.saveRequestData()) {
+                operationLog.setOperParam(toJson(writer, loggableArgs(joinPoint.getArgs())));
+            }
+            if (operLog.saveResponseData() && result != null) {
+                operationLog.setJsonResult(toJson(writer, result));
+            }
+            if (error != null) {
+                operationLog.setStatus(STATUS_FAIL);
+                operationLog.setErrorMsg(StrUtil.maxLength(StrUtil.blankToDefault(error.getMessage(),
+                        error.getClass().getName()), MAX_LENGTH - 3));
+            } else {
+                operationLog.setStatus(STATUS_SUCCESS);
+            }
+
+            long endTime = System.currentTimeMillis();
+            operationLog.setStartTime(startTime);
+            operationLog.setEndTime(endTime);
+            operationLog.setExecutionTime(endTime - startTime);
+            operationLog.setOperTime(LocalDateTime.now());
+            operLogWriter.submit(operationLog);
+        } catch (Exception e) {
+            // 日志记录失败不影响业务
+            log.warn("记录操作日志失败: {}", operLog.title(), e);
+        }
+    }
+
+    /**
+     * 去掉请求、响应、文件与校验结果等不可序列化的参数
+     */
+    private Object loggableArgs(Object[] args) {
+        if (ArrayUtil.isEmpty(args)) {
+            return null;
+        }
+        List<Object> loggable = new ArrayList<>(args.length);
+        for (Object arg : args) {
+            if (arg == null || arg instanceof ServletRequest || arg instanceof ServletResponse
+                    || arg instanceof InputStreamSource || arg instanceof BindingResult) {
+                continue;
+            }
+            loggable.add(arg);
+        }
+        return loggable.size() == 1 ? loggable.get(0) : loggable;
+    }
+
+    private ObjectWriter writer(String[] excludeParamNames) {
+        Set<String> excludes = new LinkedHashSet<>(List.of(DEFAULT_EXCLUDE_PARAM_NAMES));
+        excludes.addAll(List.of(excludeParamNames));
+        return writers.computeIfAbsent(excludes, names -> filteringMapper.writer(new SimpleFilterProvider()
+                .addFilter(FILTER_ID, SimpleBeanPropertyFilter.serializeAllExcept(names))));
+    }
+
+    /**
+     * 序列化到定长缓冲，达到列长度后中止序列化并截断
+     */
+    private String toJson(ObjectWriter writer, Object value) {
+        if (value == null) {
+            return null;
+        }
+        BoundedWriter out = new BoundedWriter(MAX_LENGTH);
+        try {
+            writer.writeValue(out, value);
+        } catch (IOException e) {
+            if (!out.isFull()) {
+                log.debug("操作日志序列化失败: {}", value.getClass().getName(), e);
+                return StrUtil.maxLength(String.valueOf(value), MAX_LENGTH - 3);
+            }
+        }
+        return out.toString();
+    }
+
+    @JsonFilter(FILTER_ID)
+    private static class PropertyFilterMixIn {
+    }
+
+    /**
+     * 超出上限即抛出异常的 Writer，用于提前结束序列化
+     */
+    private static class BoundedWriter extends Writer {
+
+        private static final IOException FULL = new LimitExceededException();
+
+        private final StringBuilder builder;
+
+        private final int limit;
+
+        private boolean full;
+
+        BoundedWriter(int limit) {
+            this.limit = limit;
+            this.builder = new StringBuilder(Math.min(limit, 256));
+        }
+
+        @Override
+        public void write(char[] chars, int offset, int length) throws IOException {
+            if (full) {
+                throw FULL;
+            }
+            int remaining = limit - builder.length();
+            if (length <= remaining) {
+                builder.append(chars, offset, length);
+                return;
+            }
+            // 截断到上限并以省略号结尾
+            builder.append(chars, offset, remaining);
+            builder.setLength(limit - 3);
+            builder.append("...");
+            full = true;
+            throw FULL;
+        }
+
+        boolean isFull() {
+            return full;
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public String toString() {
+            return builder.toString();
+        }
+    }
+
+    /**
+     * 序列化超出长度的信号，共享单例且不填充堆栈
+     */
+    private static class LimitExceededException extends IOException {
+
+        LimitExceededException() {
+            super("操作日志内容超出长度限制");
+        }
+
+        @Override
+        public synchronized Throwable fillInStackTrace() {
+            return this;
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.corki.admin.common.enums;
+
+import lombok.Getter;
+
+@Getter
+public enum BusinessTypeEnum {
+
+    OTHER(0, "其他"),
+    INSERT(1, "新增"),
+    UPDATE(2, "修改"),
+    DELETE(3, "删除"),
+    ;
+
+    private Integer code;
+    private String msg;
+
+    BusinessTypeEnum(int code, String msg) {
+        this.code = code;
+        this.msg = msg;
+    }
+}
@@ -0,0 +1,25 @@
+package com.corki.admin.config;
+
+import com.corki.admin.dao.service.IMenuService;
+import jakarta.annotation.Resource;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * 启动时发布网关路由权限表，菜单变更时由 MenuServiceImpl 重新发布
+ *
+ * @author Corki
+ * @since 2026-10-17
+ */
+@Component
+public class RoutePermissionPublisher {
+
+    @Resource
+    private IMenuService menuService;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void publishOnStartup() {
+        menuService.publishRoutePermissions();
+    }
+}
@@ -1,11 +1,14 @@
 package com.corki.admin.config;
 
 import cn.dev33.satoken.stp.StpInterface;
+import com.corki.admin.dao.entity.Role;
 import com.corki.admin.dao.service.IMenuService;
 import com.corki.admin.dao.service.IRoleService;
+import com.corki.common.cache.AuthCacheManager;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -23,14 +26,19 @@ public class StpInterfaceImpl implements StpInterface {
     @Autowired
     private IRoleService roleService;
 
+    @Autowired
+    private AuthCacheManager authCacheManager;
+
     /**
      * 返回一个账号所拥有的权限码集合
      */
     @Override
     public List<String> getPermissionList(Object loginId, String loginType) {
-        // 返回此 loginId 拥有的权限列表
-        Long userId = Long.valueOf(loginId.toString());
-        return (List<String>) menuService.selectMenuPermsByUserId(userId);
+        // 返回此 loginId 拥有的权限列表，优先从两级缓存读取
+        return authCacheManager.getPermissions(loginType, loginId, () -> {
+            Long userId = Long.valueOf(loginId.toString());
+            return new ArrayList<>(menuService.selectMenuPermsByUserId(userId));
+        });
     }
 
     /**
@@ -38,11 +46,14 @@ public class StpInterfaceImpl implements StpInterface {
      */
     @Override
     public List<String> getRoleList(Object loginId, String loginType) {
-        // 返回此 loginId 拥有的角色列表
-        Long userId = Long.valueOf(loginId.toString());
-        List<com.corki.admin.dao.entity.Role> roles = roleService.selectRolesByUserId(userId);
-        return roles.stream()
-                .map(com.corki.admin.dao.entity.Role::getRoleKey)
-                .collect(java.util.stream.Collectors.toList());
+        // 返回此 loginId 拥有的角色列表，优先从两级缓存读取
+        return authCacheManager.getRoles(loginType, loginId, () -> {
+            Long userId = Long.valueOf(loginId.toString());
+            // selectRolesByUserId 返回全部角色，flag 标识用户是否拥有
+            return roleService.selectRolesByUserId(userId).stream()
+                    .filter(Role::isFlag)
+                    .map(Role::getRoleKey)
+                    .toList();
+        });
     }
-}
\ No newline at end of file
+}
@@ -3,14 +3,15 @@ package com.corki.admin.controller;
 import cn.hutool.core.io.IoUtil;
 import com.corki.admin.model.dto.LoginDTO;
 import com.corki.admin.model.vo.LoginUserVO;
-import com.corki.admin.model.vo.RouterVO;
 import com.corki.admin.service.ILoginService;
 import com.corki.common.model.R;
 import com.corki.admin.utils.CaptchaService;
+import com.corki.common.utils.AsyncRequestExecutor;
 import com.corki.common.utils.StpAdminUtil;
 import com.corki.common.utils.StpKit;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
@@ -19,6 +20,7 @@ import java.io.IOException;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * 登录控制器
@@ -36,6 +38,9 @@ public class LoginController {
     @Autowired
     private CaptchaService captchaService;
 
+    @Autowired
+    private AsyncRequestExecutor asyncRequestExecutor;
+
     /**
      * 获取验证码图片
      */
@@ -80,10 +85,11 @@ public class LoginController {
 
     /**
      * 用户登录
+     * 在虚拟线程中执行，等待密码哈希时不占用 Tomcat 线程
      */
     @PostMapping("/login")
-    public R<LoginUserVO> login(@Validated @RequestBody LoginDTO loginDTO) {
-        return loginService.login(loginDTO);
+    public CompletableFuture<R<LoginUserVO>> login(@Validated @RequestBody LoginDTO loginDTO) {
+        return asyncRequestExecutor.supply(() -> loginService.login(loginDTO));
     }
 
     /**
@@ -106,9 +112,9 @@ public class LoginController {
     /**
      * 获取用户路由信息
      */
-    @GetMapping("/getRouters")
-    public R<List<RouterVO>> getRouters() {
-        return loginService.getRouters();
+    @GetMapping(value = "/getRouters", produces = MediaType.APPLICATION_JSON_VALUE)
+    public byte[] getRouters() {
+        return loginService.getRoutersJson();
     }
 
     /**
@@ -111,6 +111,12 @@ public class OperationLog {
     @TableField("oper_time")
     private LocalDateTime operTime;
 
+    /**
+     * 操作人员ID，写库前据此批量解析 operatorName
+     */
+    @TableField(exist = false)
+    private Long operatorId;
+
     /**
      * 请求开始时间
      */
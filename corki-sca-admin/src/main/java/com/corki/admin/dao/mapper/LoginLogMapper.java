@@ -0,0 +1,15 @@
+package com.corki.admin.dao.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.corki.admin.dao.entity.LoginLog;
+import org.apache.ibatis.annotations.Mapper;
+
+/**
+ * 系统访问记录 数据层
+ *
+ * @author Corki
+ * @since 2026-10-17
+ */
+@Mapper
+public interface LoginLogMapper extends BaseMapper<LoginLog> {
+}
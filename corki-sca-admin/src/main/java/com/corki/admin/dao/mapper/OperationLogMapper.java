@@ -0,0 +1,15 @@
+package com.corki.admin.dao.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.corki.admin.dao.entity.OperationLog;
+import org.apache.ibatis.annotations.Mapper;
+
+/**
+ * 操作日志记录 数据层
+ *
+ * @author Corki
+ * @since 2026-10-17
+ */
+@Mapper
+public interface OperationLogMapper extends BaseMapper<OperationLog> {
+}
@@ -2,6 +2,7 @@ package com.corki.admin.dao.service;
 
 import com.corki.admin.dao.entity.Menu;
 import com.baomidou.mybatisplus.extension.service.IService;
+import com.corki.common.auth.RoutePermission;
 
 import java.util.List;
 import java.util.Set;
@@ -110,4 +111,24 @@ public interface IMenuService extends IService<Menu> {
      * @return 结果
      */
     boolean checkMenuNameUnique(Menu menu);
-}
\ No newline at end of file
+
+    /**
+     * 判断用户是否是管理员
+     *
+     * @param userId 用户ID
+     * @return 结果
+     */
+    boolean isAdmin(Long userId);
+
+    /**
+     * 根据菜单路由地址与权限标识生成网关路由权限表
+     *
+     * @return 路由权限条目
+     */
+    List<RoutePermission> selectRoutePermissions();
+
+    /**
+     * 重新生成并发布网关路由权限表
+     */
+    void publishRoutePermissions();
+}
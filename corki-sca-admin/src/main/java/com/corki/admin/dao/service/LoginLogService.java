@@ -0,0 +1,11 @@
+package com.corki.admin.dao.service;
+
+import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import com.corki.admin.dao.entity.LoginLog;
+import com.corki.admin.dao.mapper.LoginLogMapper;
+import org.springframework.stereotype.Service;
+
+@Service
+public class LoginLogService extends ServiceImpl<LoginLogMapper, LoginLog> {
+
+}
@@ -0,0 +1,11 @@
+package com.corki.admin.dao.service;
+
+import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import com.corki.admin.dao.entity.OperationLog;
+import com.corki.admin.dao.mapper.OperationLogMapper;
+import org.springframework.stereotype.Service;
+
+@Service
+public class OperationLogService extends ServiceImpl<OperationLogMapper, OperationLog> {
+
+}
@@ -1,12 +1,127 @@
 package com.corki.admin.dao.service;
 
-import org.springframework.stereotype.Service;
-import org.springframework.beans.factory.annotation.Autowired;
-import java.util.List;
+import cn.hutool.core.bean.BeanUtil;
+import com.baomidou.mybatisplus.core.conditions.update.LambdaUpdateWrapper;
+import com.baomidou.mybatisplus.core.enums.SqlMethod;
+import com.baomidou.mybatisplus.core.toolkit.Constants;
+import com.baomidou.mybatisplus.core.toolkit.Wrappers;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import com.baomidou.mybatisplus.extension.toolkit.SqlHelper;
+import com.corki.common.auth.LoginCredential;
+import com.corki.common.auth.LoginCredentialCache;
+import com.corki.common.utils.StpAdminUtil;
 import com.corki.admin.dao.entity.User;
 import com.corki.admin.dao.mapper.UserMapper;
+import jakarta.annotation.Resource;
+import org.apache.ibatis.binding.MapperMethod;
+import org.apache.ibatis.logging.Log;
+import org.apache.ibatis.logging.LogFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.Serializable;
+import java.util.Collection;
+
+/**
+ * 后台用户 服务层
+ * 登录凭证相关列（用户名、密码、状态及登录响应字段）须通过 save / updateById / removeById 修改，
+ * 或在修改后调用 {@link #evictLoginCredential}，否则登录凭证缓存要到过期后才会更新；
+ * updateBatchById 不会失效缓存，只用于写不在凭证中的列；最后登录时间与设备经 {@link #updateLastLogin} 批量写入。
+ *
+ * @author Corki
+ * @since 2026-10-17
+ */
 @Service
 public class UserService extends ServiceImpl<UserMapper, User> {
 
+    private static final Log BATCH_LOG = LogFactory.getLog(UserService.class);
+
+    @Resource
+    private LoginCredentialCache loginCredentialCache;
+
+    /**
+     * 按用户名获取登录凭证，优先读缓存
+     *
+     * @param username 用户名
+     * @return 凭证，用户不存在返回 null
+     */
+    public LoginCredential getLoginCredential(String username) {
+        return loginCredentialCache.get(StpAdminUtil.TYPE, username, name -> {
+            User user = lambdaQuery()
+                    .select(User::getId, User::getUsername, User::getPassword, User::getStatus,
+                            User::getEmail, User::getMobile, User::getRegistrationTime,
+                            User::getNickname, User::getAvatar, User::getSex, User::getDeptId)
+                    .eq(User::getUsername, name)
+                    .last("limit 1")
+                    .one();
+            return user == null ? null : BeanUtil.copyProperties(user, LoginCredential.class);
+        });
+    }
+
+    /**
+     * 失效登录凭证缓存
+     */
+    public void evictLoginCredential(String username) {
+        loginCredentialCache.invalidate(StpAdminUtil.TYPE, username);
+    }
+
+    /**
+     * 批量写最后登录时间与设备
+     * 只在新时间晚于库中时间时更新，补写转存的旧事件不会覆盖之后写入的登录时间；
+     * 这两列不在登录凭证中，不失效缓存
+     *
+     * @param users     用户ID、最后登录时间与设备
+     * @param batchSize 每批数量
+     */
+    public void updateLastLogin(Collection<User> users, int batchSize) {
+        String statement = getSqlStatement(SqlMethod.UPDATE);
+        SqlHelper.executeBatch(getEntityClass(), BATCH_LOG, users, batchSize, (sqlSession, user) -> {
+            User set = new User();
+            set.setLastLoginTime(user.getLastLoginTime());
+            set.setLastLoginDevice(user.getLastLoginDevice());
+            LambdaUpdateWrapper<User> where = Wrappers.<User>lambdaUpdate()
+                    .eq(User::getId, user.getId())
+                    .and(w -> w.lt(User::getLastLoginTime, user.getLastLoginTime())
+                            .or().isNull(User::getLastLoginTime));
+            MapperMethod.ParamMap<Object> param = new MapperMethod.ParamMap<>();
+            param.put(Constants.ENTITY, set);
+            param.put(Constants.WRAPPER, where);
+            sqlSession.update(statement, param);
+        });
+    }
+
+    @Override
+    public boolean save(User entity) {
+        boolean saved = super.save(entity);
+        // 清除该用户名的负缓存
+        evictLoginCredential(entity.getUsername());
+        return saved;
+    }
+
+    @Override
+    public boolean updateById(User entity) {
+        // 用户名可能被修改，新旧用户名都要失效
+        String oldUsername = usernameOf(entity.getId());
+        boolean updated = super.updateById(entity);
+        evictLoginCredential(oldUsername);
+        if (entity.getUsername() != null && !entity.getUsername().equals(oldUsername)) {
+            evictLoginCredential(entity.getUsername());
+        }
+        return updated;
+    }
+
+    @Override
+    public boolean removeById(Serializable id) {
+        String username = usernameOf(id);
+        boolean removed = super.removeById(id);
+        evictLoginCredential(username);
+        return removed;
+    }
+
+    private String usernameOf(Serializable id) {
+        if (id == null) {
+            return null;
+        }
+        User entity = lambdaQuery().select(User::getUsername).eq(User::getId, id).one();
+        return entity != null ? entity.getUsername() : null;
+    }
 }
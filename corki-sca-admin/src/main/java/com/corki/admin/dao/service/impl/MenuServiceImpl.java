@@ -1,9 +1,15 @@
 package com.corki.admin.dao.service.impl;
 
+import cn.hutool.core.util.StrUtil;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import com.corki.admin.dao.entity.Menu;
 import com.corki.admin.dao.mapper.MenuMapper;
 import com.corki.admin.dao.service.IMenuService;
+import com.corki.admin.utils.TreeBuildUtils;
+import com.corki.common.auth.RoutePermission;
+import com.corki.common.auth.RoutePermissionTable;
+import com.corki.common.cache.AuthCacheManager;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -15,12 +21,39 @@ import java.util.*;
  * @author Corki
  * @since 2024-12-09
  */
+@Slf4j
 @Service
 public class MenuServiceImpl extends ServiceImpl<MenuMapper, Menu> implements IMenuService {
 
     @Autowired
     private MenuMapper menuMapper;
 
+    @Autowired
+    private AuthCacheManager authCacheManager;
+
+    @Autowired
+    private RoutePermissionTable routePermissionTable;
+
+    /**
+     * 网关中 admin 服务的路由前缀
+     */
+    private static final String ROUTE_PREFIX = "/admin/";
+
+    /**
+     * 菜单类型：菜单
+     */
+    private static final String MENU_TYPE_MENU = "C";
+
+    /**
+     * 菜单状态：正常
+     */
+    private static final int STATUS_NORMAL = 0;
+
+    /**
+     * 是否外链：是
+     */
+    private static final int IS_FRAME_YES = 0;
+
     /**
      * 根据用户查询系统菜单列表
      *
@@ -98,7 +131,12 @@ public class MenuServiceImpl extends ServiceImpl<MenuMapper, Menu> implements IM
     public List<Menu> selectMenuTreeByUserId(Long userId) {
         List<Menu> menus;
         if (isAdmin(userId)) {
-            menus = this.lambdaQuery().list();
+            // 路由树只需要目录和菜单，按钮和停用菜单不参与构建
+            menus = this.lambdaQuery()
+                    .in(Menu::getMenuType, "M", "C")
+                    .eq(Menu::getStatus, 0)
+                    .orderByAsc(Menu::getParentId, Menu::getOrderNum)
+                    .list();
         } else {
             menus = menuMapper.selectMenuTreeByUserId(userId);
         }
@@ -147,7 +185,12 @@ public class MenuServiceImpl extends ServiceImpl<MenuMapper, Menu> implements IM
      */
     @Override
     public int insertMenu(Menu menu) {
-        return menuMapper.insertMenu(menu);
+        int rows = menuMapper.insertMenu(menu);
+        if (rows > 0) {
+            authCacheManager.invalidateAll();
+            publishRoutePermissions();
+        }
+        return rows;
     }
 
     /**
@@ -158,7 +201,12 @@ public class MenuServiceImpl extends ServiceImpl<MenuMapper, Menu> implements IM
      */
     @Override
     public int updateMenu(Menu menu) {
-        return menuMapper.updateMenu(menu);
+        int rows = menuMapper.updateMenu(menu);
+        if (rows > 0) {
+            authCacheManager.invalidateAll();
+            publishRoutePermissions();
+        }
+        return rows;
     }
 
     /**
@@ -169,7 +217,12 @@ public class MenuServiceImpl extends ServiceImpl<MenuMapper, Menu> implements IM
      */
     @Override
     public int deleteMenuById(Long menuId) {
-        return menuMapper.deleteMenuById(menuId);
+        int rows = menuMapper.deleteMenuById(menuId);
+        if (rows > 0) {
+            authCacheManager.invalidateAll();
+            publishRoutePermissions();
+        }
+        return rows;
     }
 
     /**
@@ -192,15 +245,7 @@ public class MenuServiceImpl extends ServiceImpl<MenuMapper, Menu> implements IM
      * @return 树结构列表
      */
     public List<Menu> buildMenuTree(List<Menu> menus) {
-        List<Menu> returnList = new ArrayList<Menu>();
-        List<Long> tempList = menus.stream().map(Menu::getId).toList();
-        for (Menu menu : menus) {
-            // 如果是顶级节点, 遍历该父节点的所有子节点
-            if (!tempList.contains(menu.getParentId())) {
-                recursionFn(menus, menu);
-                returnList.add(menu);
-            }
-        }
+        List<Menu> returnList = TreeBuildUtils.build(menus, Menu::getId, Menu::getParentId, Menu::setChildren);
         if (returnList.isEmpty()) {
             returnList = menus;
         }
@@ -214,76 +259,91 @@ public class MenuServiceImpl extends ServiceImpl<MenuMapper, Menu> implements IM
      * @return 树结构列表
      */
     public List<Menu> buildMenuTree(List<Menu> menus, Long parentId) {
-        List<Menu> returnList = new ArrayList<Menu>();
-        for (Menu menu : menus) {
-            if (menu.getParentId().longValue() == parentId.longValue()) {
-                recursionFn(menus, menu);
-                returnList.add(menu);
-            }
-        }
-        return returnList;
+        return TreeBuildUtils.build(menus, Menu::getId, Menu::getParentId, Menu::setChildren, parentId);
     }
 
     /**
-     * 递归列表
+     * 根据父节点的ID获取所有子节点
+     *
+     * @param list 分类表
+     * @param parentId 传入的父节点ID
+     * @return String
      */
-    private void recursionFn(List<Menu> list, Menu t) {
-        // 得到子节点列表
-        List<Menu> childList = getChildList(list, t);
-        t.setChildren(childList);
-        for (Menu tChild : childList) {
-            if (hasChild(list, tChild)) {
-                recursionFn(list, tChild);
-            }
-        }
+    public List<Menu> getChildPerms(List<Menu> list, long parentId) {
+        return TreeBuildUtils.build(list, Menu::getId, Menu::getParentId, Menu::setChildren, parentId);
     }
 
     /**
-     * 得到子节点列表
+     * 判断用户是否是管理员
+     *
+     * @param userId 用户ID
+     * @return 结果
      */
-    private List<Menu> getChildList(List<Menu> list, Menu t) {
-        List<Menu> tlist = new ArrayList<Menu>();
-        for (Menu n : list) {
-            if (n.getParentId().longValue() == t.getId().longValue()) {
-                tlist.add(n);
-            }
-        }
-        return tlist;
+    @Override
+    public boolean isAdmin(Long userId) {
+        return userId != null && 1L == userId;
     }
 
     /**
-     * 判断是否有子节点
+     * 根据菜单路由地址与权限标识生成网关路由权限表
+     * 只取正常状态、带权限标识的菜单（C），沿父级拼接路由地址，
+     * 如 system / user 生成 /admin/system/user/** -> system:user:list；按钮权限仍由各服务校验。
+     *
+     * @return 路由权限条目
      */
-    private boolean hasChild(List<Menu> list, Menu t) {
-        return !getChildList(list, t).isEmpty();
+    @Override
+    public List<RoutePermission> selectRoutePermissions() {
+        List<Menu> menus = lambdaQuery().eq(Menu::getStatus, STATUS_NORMAL).list();
+        Map<Long, Menu> menuMap = new HashMap<>(menus.size() * 2);
+        for (Menu menu : menus) {
+            menuMap.put(menu.getId(), menu);
+        }
+        List<RoutePermission> permissions = new ArrayList<>();
+        for (Menu menu : menus) {
+            if (!MENU_TYPE_MENU.equals(menu.getMenuType()) || StrUtil.isBlank(menu.getPerms())) {
+                continue;
+            }
+            String path = buildRoutePath(menu, menuMap);
+            if (StrUtil.isNotEmpty(path)) {
+                permissions.add(new RoutePermission(ROUTE_PREFIX + path + "/**", menu.getPerms().trim()));
+            }
+        }
+        return permissions;
     }
 
     /**
-     * 根据父节点的ID获取所有子节点
-     *
-     * @param list 分类表
-     * @param parentId 传入的父节点ID
-     * @return String
+     * 重新生成并发布网关路由权限表，失败时网关保留旧表，各服务的权限注解不受影响
      */
-    public List<Menu> getChildPerms(List<Menu> list, long parentId) {
-        List<Menu> returnList = new ArrayList<Menu>();
-        for (Menu t : list) {
-            // 一、根据传入的某个父节点ID,遍历该父节点的所有子节点
-            if (t.getParentId() == parentId) {
-                recursionFn(list, t);
-                returnList.add(t);
-            }
+    @Override
+    public void publishRoutePermissions() {
+        try {
+            routePermissionTable.publish(selectRoutePermissions());
+        } catch (Exception e) {
+            log.warn("发布路由权限表失败", e);
         }
-        return returnList;
     }
 
     /**
-     * 判断用户是否是管理员
-     *
-     * @param userId 用户ID
-     * @return 结果
+     * 沿父级拼接菜单路由地址，外链或父级缺失（已停用）时返回 null
      */
-    public boolean isAdmin(Long userId) {
-        return userId != null && 1L == userId;
+    private String buildRoutePath(Menu menu, Map<Long, Menu> menuMap) {
+        Deque<String> segments = new ArrayDeque<>();
+        Menu current = menu;
+        // 限制深度，避免脏数据形成环
+        for (int depth = 0; current != null && depth < menuMap.size(); depth++) {
+            String path = StrUtil.strip(StrUtil.trimToEmpty(current.getPath()), "/");
+            if (Objects.equals(current.getIsFrame(), IS_FRAME_YES) || StrUtil.startWithIgnoreCase(path, "http")) {
+                return null;
+            }
+            if (StrUtil.isNotEmpty(path)) {
+                segments.addFirst(path);
+            }
+            Long parentId = current.getParentId();
+            if (parentId == null || parentId == 0L) {
+                return String.join("/", segments);
+            }
+            current = menuMap.get(parentId);
+        }
+        return null;
     }
-}
\ No newline at end of file
+}
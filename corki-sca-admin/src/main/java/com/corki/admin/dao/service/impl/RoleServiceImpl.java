@@ -4,6 +4,8 @@ import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import com.corki.admin.dao.entity.Role;
 import com.corki.admin.dao.mapper.RoleMapper;
 import com.corki.admin.dao.service.IRoleService;
+import com.corki.common.cache.AuthCacheManager;
+import com.corki.common.utils.StpAdminUtil;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -24,6 +26,9 @@ public class RoleServiceImpl extends ServiceImpl<RoleMapper, Role> implements IR
     @Autowired
     private RoleMapper roleMapper;
 
+    @Autowired
+    private AuthCacheManager authCacheManager;
+
     /**
      * 根据条件分页查询角色数据
      *
@@ -161,7 +166,9 @@ public class RoleServiceImpl extends ServiceImpl<RoleMapper, Role> implements IR
     public int insertRole(Role role) {
         // 新增角色信息
         int rows = roleMapper.insertRole(role);
-        return insertRoleMenu(role);
+        rows = insertRoleMenu(role);
+        authCacheManager.invalidateAll();
+        return rows;
     }
 
     /**
@@ -178,7 +185,9 @@ public class RoleServiceImpl extends ServiceImpl<RoleMapper, Role> implements IR
         // 删除角色与菜单关联
         // TODO: 实现删除角色菜单关联逻辑
         // 新增角色与菜单关联
-        return insertRoleMenu(role);
+        rows = insertRoleMenu(role);
+        authCacheManager.invalidateAll();
+        return rows;
     }
 
     /**
@@ -189,7 +198,9 @@ public class RoleServiceImpl extends ServiceImpl<RoleMapper, Role> implements IR
      */
     @Override
     public int updateRoleStatus(Role role) {
-        return roleMapper.updateRole(role);
+        int rows = roleMapper.updateRole(role);
+        authCacheManager.invalidateAll();
+        return rows;
     }
 
     /**
@@ -218,7 +229,9 @@ public class RoleServiceImpl extends ServiceImpl<RoleMapper, Role> implements IR
     @Override
     @Transactional(rollbackFor = Exception.class)
     public int deleteRoleById(Long roleId) {
-        return roleMapper.deleteRoleById(roleId);
+        int rows = roleMapper.deleteRoleById(roleId);
+        authCacheManager.invalidateAll();
+        return rows;
     }
 
     /**
@@ -237,7 +250,9 @@ public class RoleServiceImpl extends ServiceImpl<RoleMapper, Role> implements IR
                 throw new RuntimeException(String.format("%1$s已分配,不能删除", role.getRoleName()));
             }
         }
-        return roleMapper.deleteRoleByIds(roleIds);
+        int rows = roleMapper.deleteRoleByIds(roleIds);
+        authCacheManager.invalidateAll();
+        return rows;
     }
 
     /**
@@ -249,7 +264,9 @@ public class RoleServiceImpl extends ServiceImpl<RoleMapper, Role> implements IR
      */
     @Override
     public int deleteUserRoleInfo(Long userId, Long roleId) {
-        return roleMapper.deleteUserRoleInfo(userId, roleId);
+        int rows = roleMapper.deleteUserRoleInfo(userId, roleId);
+        authCacheManager.invalidate(StpAdminUtil.TYPE, userId);
+        return rows;
     }
 
     /**
@@ -261,7 +278,9 @@ public class RoleServiceImpl extends ServiceImpl<RoleMapper, Role> implements IR
      */
     @Override
     public int deleteUserRoleInfos(Long roleId, Long[] userIds) {
-        return roleMapper.deleteUserRoleInfos(roleId, userIds);
+        int rows = roleMapper.deleteUserRoleInfos(roleId, userIds);
+        Arrays.stream(userIds).forEach(userId -> authCacheManager.invalidate(StpAdminUtil.TYPE, userId));
+        return rows;
     }
 
     /**
@@ -277,7 +296,9 @@ public class RoleServiceImpl extends ServiceImpl<RoleMapper, Role> implements IR
         Arrays.stream(userIds).forEach(userId -> {
             checkRoleDataScope(new Long[]{roleId});
         });
-        return roleMapper.batchInsertUserRole(roleId, userIds);
+        int rows = roleMapper.batchInsertUserRole(roleId, userIds);
+        Arrays.stream(userIds).forEach(userId -> authCacheManager.invalidate(StpAdminUtil.TYPE, userId));
+        return rows;
     }
 
     /**
@@ -25,4 +25,14 @@ public class AccountPwdLoginReq implements Serializable {
      * 设备类型: 1-PC; 2-APP; 3-小程序
      */
     private Integer deviceType;
+
+    /**
+     * 验证码唯一标识，失败次数过多后必填
+     */
+    private String uuid;
+
+    /**
+     * 验证码，失败次数过多后必填
+     */
+    private String code;
 }
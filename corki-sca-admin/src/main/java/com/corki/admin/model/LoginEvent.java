@@ -0,0 +1,64 @@
+package com.corki.admin.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * 登录事件，由 LoginEventWriter 异步写入 user 与 login_log 表
+ *
+ * @author Corki
+ * @since 2026-10-17
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LoginEvent implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 用户ID，用户不存在时为 null
+     */
+    private Long userId;
+
+    /**
+     * 登录账号
+     */
+    private String username;
+
+    /**
+     * 登录设备类型
+     */
+    private Integer deviceType;
+
+    /**
+     * 登录IP地址
+     */
+    private String ipaddr;
+
+    /**
+     * 原始 User-Agent，写库时再解析浏览器与操作系统
+     */
+    private String userAgent;
+
+    /**
+     * 登录状态（0-成功，1-失败）
+     */
+    private Integer status;
+
+    /**
+     * 提示消息
+     */
+    private String msg;
+
+    /**
+     * 登录时间
+     */
+    private LocalDateTime loginTime;
+}
@@ -28,4 +28,12 @@ public interface ILoginService {
     R<LoginUserVO> getInfo();
 
     R<List<RouterVO>> getRouters();
+
+    /**
+     * 获取已序列化的路由信息（R&lt;List&lt;RouterVO&gt;&gt; 的 JSON 字节）
+     * 按用户的角色组合缓存，菜单/角色版本号变化后懒重建
+     *
+     * @return JSON 字节
+     */
+    byte[] getRoutersJson();
 }
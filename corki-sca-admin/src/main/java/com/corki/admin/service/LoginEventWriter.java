@@ -0,0 +1,248 @@
+package com.corki.admin.service;
+
+import cn.hutool.core.util.StrUtil;
+import cn.hutool.http.useragent.UserAgent;
+import cn.hutool.http.useragent.UserAgentUtil;
+import com.corki.admin.dao.entity.LoginLog;
+import com.corki.admin.dao.entity.User;
+import com.corki.admin.dao.service.LoginLogService;
+import com.corki.admin.dao.service.UserService;
+import com.corki.admin.model.LoginEvent;
+import com.corki.common.utils.ClientIpUtil;
+import com.corki.common.utils.RedissonUtil;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.annotation.Resource;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RQueue;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 登录事件异步写入（write-behind）
+ * 登录线程只把事件放入有界队列，后台线程定期批量落库：
+ * <ul>
+ *     <li>同一用户的多次成功登录合并为一条，只更新 last_login_time、last_login_device 两列，批量执行；
+ *     只在事件时间晚于库中时间时更新，补写的旧事件不会覆盖更新的登录时间</li>
+ *     <li>login_log 批量插入（配合 rewriteBatchedStatements 合并为多值 INSERT）</li>
+ * </ul>
+ * 两者在同一事务中写入，失败时整体回滚后转存，补写时不会重复插入已写入的登录日志。
+ * 队列已满、写库失败或停机时未写完的事件转存到 Redis 列表，启动后及之后定期补写：
+ * 补写在分布式锁内进行，每批通过 LPOP 原子领取，写库失败时放回列表并停止本轮补写。
+ *
+ * @author Corki
+ * @since 2026-10-17
+ */
+@Slf4j
+@Component
+public class LoginEventWriter {
+
+    private static final String SPILL_KEY = "admin:login:event:spill";
+
+    private static final String RECOVER_LOCK_KEY = "admin:login:event:spill:lock";
+
+    private static final int STATUS_SUCCESS = 0;
+
+    private static final int STATUS_FAIL = 1;
+
+    @Resource
+    private UserService userService;
+
+    @Resource
+    private LoginLogService loginLogService;
+
+    @Resource
+    private RedissonUtil redissonUtil;
+
+    @Resource
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${login.writeBehind.queueSize:10000}")
+    private int queueSize;
+
+    @Value("${login.writeBehind.batchSize:500}")
+    private int batchSize;
+
+    @Value("${login.writeBehind.flushIntervalMillis:1000}")
+    private long flushIntervalMillis;
+
+    @Value("${login.writeBehind.recoverIntervalMillis:60000}")
+    private long recoverIntervalMillis;
+
+    private BlockingQueue<LoginEvent> queue;
+
+    private ScheduledExecutorService flusher;
+
+    @PostConstruct
+    public void init() {
+        queue = new ArrayBlockingQueue<>(queueSize);
+        flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "login-event-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::recoverSpilled, 0, recoverIntervalMillis, TimeUnit.MILLISECONDS);
+        flusher.scheduleWithFixedDelay(this::flushQueue, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void destroy() throws InterruptedException {
+        flusher.shutdown();
+        if (!flusher.awaitTermination(10, TimeUnit.SECONDS)) {
+            flusher.shutdownNow();
+        }
+        // 停机前把剩余事件写完，写库失败的转存到 Redis
+        flushQueue();
+    }
+
+    /**
+     * 记录登录成功
+     *
+     * @param user       登录用户
+     * @param deviceType 登录设备类型
+     */
+    public void success(User user, Integer deviceType) {
+        offer(new LoginEvent(user.getId(), user.getUsername(), deviceType, null, null,
+                STATUS_SUCCESS, "登录成功", LocalDateTime.now()));
+    }
+
+    /**
+     * 记录登录失败
+     *
+     * @param userId   用户ID，用户不存在时为 null
+     * @param username 登录账号
+     * @param msg      失败原因
+     */
+    public void fail(Long userId, String username, String msg) {
+        offer(new LoginEvent(userId, username, null, null, null, STATUS_FAIL, msg, LocalDateTime.now()));
+    }
+
+    private void offer(LoginEvent event) {
+        fillRequestInfo(event);
+        if (!queue.offer(event)) {
+            spill(List.of(event));
+        }
+    }
+
+    /**
+     * 在登录线程中读取 IP 与 User-Agent，解析留到写库时进行
+     */
+    private void fillRequestInfo(LoginEvent event) {
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            HttpServletRequest request = attributes.getRequest();
+            event.setIpaddr(ClientIpUtil.getClientIp(request));
+            event.setUserAgent(request.getHeader("User-Agent"));
+        }
+    }
+
+    private void flushQueue() {
+        List<LoginEvent> batch = new ArrayList<>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            write(batch);
+            batch = new ArrayList<>(batchSize);
+        }
+    }
+
+    /**
+     * 补写转存的事件，多个实例同时启动时只有拿到锁的实例执行
+     */
+    private void recoverSpilled() {
+        try {
+            redissonUtil.executeWithLock(RECOVER_LOCK_KEY, 0, -1, TimeUnit.SECONDS, () -> {
+                RQueue<LoginEvent> spilled = redissonUtil.getQueue(SPILL_KEY);
+                List<LoginEvent> batch;
+                // poll(limit) 原子地取出并删除一批，其他实例不会读到同一批事件
+                while (!(batch = spilled.poll(batchSize)).isEmpty()) {
+                    if (!write(batch)) {
+                        // 已由 write 放回列表，数据库恢复前不再继续，避免取出放回无限循环
+                        return;
+                    }
+                    log.info("补写转存的登录事件: {}", batch.size());
+                }
+            });
+        } catch (Exception e) {
+            log.warn("补写转存的登录事件失败", e);
+        }
+    }
+
+    /**
+     * @return 是否写库成功，失败时事件已转存到 Redis
+     */
+    private boolean write(List<LoginEvent> events) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                updateLastLogin(events);
+                loginLogService.saveBatch(toLoginLogs(events), batchSize);
+            });
+            return true;
+        } catch (Exception e) {
+            log.warn("登录事件写库失败，转存到 Redis: {}", events.size(), e);
+            spill(events);
+            return false;
+        }
+    }
+
+    /**
+     * 同一用户只保留最后一次成功登录，只更新登录时间与设备两列
+     */
+    private void updateLastLogin(List<LoginEvent> events) {
+        Map<Long, User> latest = new LinkedHashMap<>();
+        for (LoginEvent event : events) {
+            if (event.getStatus() != STATUS_SUCCESS || event.getUserId() == null) {
+                continue;
+            }
+            User user = new User();
+            user.setId(event.getUserId());
+            user.setLastLoginTime(event.getLoginTime());
+            user.setLastLoginDevice(event.getDeviceType());
+            latest.put(event.getUserId(), user);
+        }
+        if (!latest.isEmpty()) {
+            userService.updateLastLogin(latest.values(), batchSize);
+        }
+    }
+
+    private List<LoginLog> toLoginLogs(List<LoginEvent> events) {
+        List<LoginLog> logs = new ArrayList<>(events.size());
+        for (LoginEvent event : events) {
+            LoginLog loginLog = new LoginLog();
+            loginLog.setUsername(event.getUsername());
+            loginLog.setIpaddr(event.getIpaddr());
+            if (StrUtil.isNotBlank(event.getUserAgent())) {
+                UserAgent userAgent = UserAgentUtil.parse(event.getUserAgent());
+                if (userAgent != null) {
+                    loginLog.setBrowser(userAgent.getBrowser().getName());
+                    loginLog.setOs(userAgent.getOs().getName());
+                }
+            }
+            loginLog.setStatus(event.getStatus());
+            loginLog.setMsg(event.getMsg());
+            loginLog.setLoginTime(event.getLoginTime());
+            logs.add(loginLog);
+        }
+        return logs;
+    }
+
+    private void spill(List<LoginEvent> events) {
+        try {
+            redissonUtil.<LoginEvent>getQueue(SPILL_KEY).addAll(events);
+        } catch (Exception e) {
+            log.error("登录事件转存 Redis 失败，丢弃: {}", events.size(), e);
+        }
+    }
+}
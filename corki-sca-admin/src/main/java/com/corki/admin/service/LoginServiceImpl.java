@@ -4,24 +4,37 @@ import cn.dev33.satoken.secure.SaSecureUtil;
 import cn.dev33.satoken.stp.SaTokenInfo;
 import cn.hutool.core.bean.BeanUtil;
 import cn.hutool.core.util.StrUtil;
-import cn.hutool.json.JSONUtil;
 import com.corki.admin.common.enums.AdminUserStatusEnum;
+import com.corki.admin.dao.entity.Menu;
 import com.corki.admin.dao.entity.User;
+import com.corki.admin.dao.service.IMenuService;
 import com.corki.admin.dao.service.UserService;
 import com.corki.admin.model.AccountPwdLoginReq;
 import com.corki.admin.model.LoginUserRsp;
 import com.corki.admin.model.dto.LoginDTO;
 import com.corki.admin.model.vo.LoginUserVO;
 import com.corki.admin.model.vo.RouterVO;
+import com.corki.common.auth.LoginCredential;
+import com.corki.common.auth.LoginThrottle;
+import com.corki.common.auth.PasswordCheck;
+import com.corki.common.auth.PasswordService;
+import com.corki.common.cache.AuthCacheManager;
 import com.corki.common.enums.ResponseEnum;
+import com.corki.common.exception.ServiceException;
 import com.corki.common.model.R;
 import com.corki.admin.utils.CaptchaService;
+import com.corki.common.utils.ClientIpUtil;
 import com.corki.common.utils.StpAdminUtil;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import jakarta.annotation.Resource;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
 @Slf4j
@@ -34,29 +47,70 @@ public class LoginServiceImpl implements ILoginService {
     @Resource
     private CaptchaService captchaService;
 
+    @Resource
+    private IMenuService menuService;
+
+    @Resource
+    private AuthCacheManager authCacheManager;
+
+    @Resource
+    private PasswordService passwordService;
+
+    @Resource
+    private LoginEventWriter loginEventWriter;
+
+    @Resource
+    private LoginThrottle loginThrottle;
+
+    @Resource
+    private ObjectMapper objectMapper;
+
+    /**
+     * 管理员的路由缓存key，管理员看到全部菜单，不能与角色组合共用
+     */
+    private static final String ADMIN_ROUTER_KEY = "admin";
+
+    /**
+     * 路由缓存：角色组合 -> 已序列化的路由响应，很多用户的角色组合相同，可共用同一份
+     */
+    private final Cache<String, RouterCacheEntry> routerCache = Caffeine.newBuilder()
+            .maximumSize(1000)
+            .build();
+
     @Override
     public R<LoginUserRsp> accountPwdLogin(AccountPwdLoginReq req) {
-        log.info("accountPwdLogin--->info: {}", JSONUtil.toJsonStr(req));
-        User user = userService.lambdaQuery()
-                .eq(User::getUsername, req.getUsername())
-                .last("limit 1")
-                .one();
+        log.info("accountPwdLogin--->info: {}", req.getUsername());
+        // 失败次数检查在查库之前，锁定或需要验证码时不访问数据库
+        String ip = ClientIpUtil.getClientIp();
+        LoginThrottle.State state = loginThrottle.check(StpAdminUtil.TYPE, req.getUsername(), ip);
+        if (state == LoginThrottle.State.LOCKED) {
+            return R.fail(ResponseEnum.LOGIN_LOCKED);
+        }
+        if (state == LoginThrottle.State.CAPTCHA && !captchaService.verifyCaptcha(req.getUuid(), req.getCode())) {
+            return R.fail(ResponseEnum.LOGIN_CAPTCHA_REQUIRED);
+        }
+        User user = findUser(req.getUsername());
         if (user == null) {
+            loginFailed(null, req.getUsername(), ip, ResponseEnum.USER_NOT_EXIST);
             return R.fail(ResponseEnum.USER_NOT_EXIST);
         }
 
         if (!AdminUserStatusEnum.NORMAL.is(user.getStatus())) {
+            loginEventWriter.fail(user.getId(), user.getUsername(), ResponseEnum.USER_STATUS_ERROR.getMsg());
             return R.fail(ResponseEnum.USER_STATUS_ERROR);
         }
-        String md5Pwd = SaSecureUtil.md5(req.getPassword());
-        if (!user.getPassword().equals(md5Pwd)) {
+        PasswordCheck passwordCheck = passwordService.verify(req.getPassword(), user.getPassword());
+        if (!passwordCheck.matched()) {
+            loginFailed(user.getId(), user.getUsername(), ip, ResponseEnum.USER_PASSWORD_ERROR);
             return R.fail(ResponseEnum.USER_PASSWORD_ERROR);
         }
+        loginThrottle.reset(StpAdminUtil.TYPE, user.getUsername());
 
-        // 更新登录信息, 登录日志
+        // 旧 MD5 密码升级为 BCrypt，同步只写密码列；登录时间与登录日志由 LoginEventWriter 异步批量写入
+        upgradePassword(user, passwordCheck);
         user.setLastLoginTime(LocalDateTime.now());
         user.setLastLoginDevice(req.getDeviceType());
-        userService.updateById(user);
+        loginEventWriter.success(user, req.getDeviceType());
 
         StpAdminUtil.login(user.getId(), String.valueOf(req.getDeviceType()));
         LoginUserRsp loginUserRsp = BeanUtil.copyProperties(user, LoginUserRsp.class);
@@ -74,9 +128,13 @@ public class LoginServiceImpl implements ILoginService {
 
     @Override
     public R<LoginUserVO> login(LoginDTO loginDTO) {
-        log.info("用户登录请求: {}", JSONUtil.toJsonStr(loginDTO));
+        log.info("用户登录请求: {}", loginDTO.getUsername());
 
-        // 1. 校验验证码
+        // 1. 失败次数检查与验证码校验，该接口始终要求验证码，只需处理锁定
+        String ip = ClientIpUtil.getClientIp();
+        if (loginThrottle.check(StpAdminUtil.TYPE, loginDTO.getUsername(), ip) == LoginThrottle.State.LOCKED) {
+            return R.fail(ResponseEnum.LOGIN_LOCKED);
+        }
         if (StrUtil.isEmpty(loginDTO.getUuid())) {
             return R.fail("验证码标识不能为空");
         }
@@ -86,30 +144,32 @@ public class LoginServiceImpl implements ILoginService {
             return R.fail("验证码错误或已过期");
         }
 
-        // 2. 查询用户
-        User user = userService.lambdaQuery()
-                .eq(User::getUsername, loginDTO.getUsername())
-                .last("limit 1")
-                .one();
+        // 2. 查询用户，优先读登录凭证缓存
+        User user = findUser(loginDTO.getUsername());
 
         if (user == null) {
+            loginFailed(null, loginDTO.getUsername(), ip, ResponseEnum.USER_NOT_EXIST);
             return R.fail(ResponseEnum.USER_NOT_EXIST);
         }
 
         // 3. 检查用户状态
         if (!AdminUserStatusEnum.NORMAL.is(user.getStatus())) {
+            loginEventWriter.fail(user.getId(), user.getUsername(), ResponseEnum.USER_STATUS_ERROR.getMsg());
             return R.fail(ResponseEnum.USER_STATUS_ERROR);
         }
 
         // 4. 校验密码
-        String md5Pwd = SaSecureUtil.md5(loginDTO.getPassword());
-        if (!user.getPassword().equals(md5Pwd)) {
+        PasswordCheck passwordCheck = passwordService.verify(loginDTO.getPassword(), user.getPassword());
+        if (!passwordCheck.matched()) {
+            loginFailed(user.getId(), user.getUsername(), ip, ResponseEnum.USER_PASSWORD_ERROR);
             return R.fail(ResponseEnum.USER_PASSWORD_ERROR);
         }
+        loginThrottle.reset(StpAdminUtil.TYPE, user.getUsername());
 
-        // 5. 更新登录信息
+        // 5. 升级旧 MD5 密码，登录时间与登录日志异步批量写入
+        upgradePassword(user, passwordCheck);
         user.setLastLoginTime(LocalDateTime.now());
-        userService.updateById(user);
+        loginEventWriter.success(user, null);
 
         // 6. 执行登录
         StpAdminUtil.login(user.getId());
@@ -124,8 +184,6 @@ public class LoginServiceImpl implements ILoginService {
 
         log.info("用户登录成功，用户ID: {}, 用户名: {}", user.getId(), user.getUsername());
 
-        // todo 保存登录日志
-
         return R.success(loginUserVO);
     }
 
@@ -148,7 +206,99 @@ public class LoginServiceImpl implements ILoginService {
 
     @Override
     public R<List<RouterVO>> getRouters() {
-        return null;
+        Long userId = StpAdminUtil.getLoginIdAsLong();
+        List<Menu> menus = menuService.selectMenuTreeByUserId(userId);
+        return R.success(buildRouters(menus));
+    }
+
+    @Override
+    public byte[] getRoutersJson() {
+        Long userId = StpAdminUtil.getLoginIdAsLong();
+        // 角色标识唯一且已在权限缓存中，排序后拼接即为角色组合key，无需查库
+        String key = menuService.isAdmin(userId)
+                ? ADMIN_ROUTER_KEY
+                : String.join(",", StpAdminUtil.getRoleList().stream().sorted().toList());
+        long version = authCacheManager.getVersion();
+
+        RouterCacheEntry entry = routerCache.getIfPresent(key);
+        if (entry == null || entry.version() != version) {
+            try {
+                entry = new RouterCacheEntry(version, objectMapper.writeValueAsBytes(getRouters()));
+            } catch (JsonProcessingException e) {
+                throw new ServiceException("路由信息序列化失败");
+            }
+            routerCache.put(key, entry);
+        }
+        return entry.json();
+    }
+
+    /**
+     * 按用户名查询用户，只含登录凭证中的字段
+     */
+    private User findUser(String username) {
+        LoginCredential credential = userService.getLoginCredential(username);
+        return credential == null ? null : BeanUtil.copyProperties(credential, User.class);
+    }
+
+    /**
+     * 登录失败：累计失败次数并记录登录日志
+     */
+    private void loginFailed(Long userId, String username, String ip, ResponseEnum reason) {
+        loginThrottle.recordFailure(StpAdminUtil.TYPE, username, ip);
+        loginEventWriter.fail(userId, username, reason.getMsg());
+    }
+
+    /**
+     * 旧 MD5 密码校验通过后升级为 BCrypt，只更新密码列
+     */
+    private void upgradePassword(User user, PasswordCheck passwordCheck) {
+        if (passwordCheck.upgradedHash() == null) {
+            return;
+        }
+        user.setPassword(passwordCheck.upgradedHash());
+        // 经 updateById 修改，由其负责失效登录凭证缓存
+        User update = new User();
+        update.setId(user.getId());
+        update.setPassword(passwordCheck.upgradedHash());
+        userService.updateById(update);
+    }
+
+    /**
+     * 构建前端路由所需要的菜单
+     *
+     * @param menus 菜单树
+     * @return 路由列表
+     */
+    private List<RouterVO> buildRouters(List<Menu> menus) {
+        List<RouterVO> routers = new ArrayList<>(menus.size());
+        for (Menu menu : menus) {
+            RouterVO router = new RouterVO();
+            router.setName(menu.getMenuName());
+            router.setPath(menu.getPath());
+            router.setHidden(menu.getVisible());
+            router.setComponent(menu.getComponent());
+            router.setQuery(menu.getQuery());
+            router.setIsFrame(menu.getIsFrame());
+            router.setIsCache(menu.getIsCache());
+            router.setMenuType(menu.getMenuType());
+            router.setIcon(menu.getIcon());
+            router.setPerms(menu.getPerms());
+            List<Menu> children = menu.getChildren();
+            if (children != null && !children.isEmpty()) {
+                router.setChildren(buildRouters(children));
+            }
+            routers.add(router);
+        }
+        return routers;
+    }
+
+    /**
+     * 路由缓存条目
+     *
+     * @param version 构建时的菜单/角色版本号
+     * @param json    已序列化的响应
+     */
+    private record RouterCacheEntry(long version, byte[] json) {
     }
 
     public static void main(String[] args) {
@@ -0,0 +1,155 @@
+package com.corki.admin.service;
+
+import com.corki.admin.dao.entity.OperationLog;
+import com.corki.admin.dao.entity.User;
+import com.corki.admin.dao.service.OperationLogService;
+import com.corki.admin.dao.service.UserService;
+import com.corki.admin.utils.RingBuffer;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 操作日志异步批量写入
+ * 请求线程只把日志放入无锁环形缓冲区，后台线程定期取出并批量插入 operation_log
+ * （配合 rewriteBatchedStatements 合并为多值 INSERT）。缓冲区满时丢弃并计数，不阻塞业务请求。
+ * 操作人员用户名在写库前按ID批量解析，并在本地缓存一段时间，每批最多一次查询。
+ *
+ * @author Corki
+ * @since 2026-10-17
+ */
+@Slf4j
+@Component
+public class OperLogWriter {
+
+    @Resource
+    private OperationLogService operationLogService;
+
+    @Resource
+    private UserService userService;
+
+    @Value("${operLog.bufferSize:8192}")
+    private int bufferSize;
+
+    @Value("${operLog.batchSize:500}")
+    private int batchSize;
+
+    @Value("${operLog.flushIntervalMillis:1000}")
+    private long flushIntervalMillis;
+
+    private RingBuffer<OperationLog> buffer;
+
+    private ScheduledExecutorService flusher;
+
+    private final AtomicLong dropped = new AtomicLong();
+
+    /**
+     * 用户ID -> 用户名
+     */
+    private final Cache<Long, String> usernames = Caffeine.newBuilder()
+            .maximumSize(10000)
+            .expireAfterWrite(Duration.ofMinutes(10))
+            .build();
+
+    @PostConstruct
+    public void init() {
+        buffer = new RingBuffer<>(bufferSize);
+        flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "oper-log-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flush, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void destroy() throws InterruptedException {
+        flusher.shutdown();
+        if (!flusher.awaitTermination(10, TimeUnit.SECONDS)) {
+            flusher.shutdownNow();
+        }
+        // 执行器已停止，由当前线程接替消费者写完剩余日志
+        flush();
+    }
+
+    /**
+     * 提交一条操作日志
+     */
+    public void submit(OperationLog operationLog) {
+        if (!buffer.offer(operationLog)) {
+            dropped.incrementAndGet();
+        }
+    }
+
+    private void flush() {
+        long droppedCount = dropped.getAndSet(0);
+        if (droppedCount > 0) {
+            log.warn("操作日志缓冲区已满，丢弃: {}", droppedCount);
+        }
+        List<OperationLog> batch = new ArrayList<>(batchSize);
+        while (buffer.drainTo(batch, batchSize) > 0) {
+            try {
+                fillOperatorName(batch);
+                operationLogService.saveBatch(batch, batchSize);
+            } catch (Exception e) {
+                log.error("操作日志写库失败，丢弃: {}", batch.size(), e);
+            }
+            batch = new ArrayList<>(batchSize);
+        }
+    }
+
+    /**
+     * 按操作人员ID填充用户名，查询失败或用户已删除时保留ID
+     */
+    private void fillOperatorName(List<OperationLog> batch) {
+        Set<Long> ids = new HashSet<>();
+        for (OperationLog operationLog : batch) {
+            if (operationLog.getOperatorId() != null) {
+                ids.add(operationLog.getOperatorId());
+            }
+        }
+        if (ids.isEmpty()) {
+            return;
+        }
+        Map<Long, String> names;
+        try {
+            names = usernames.getAll(ids, this::loadUsernames);
+        } catch (Exception e) {
+            log.warn("查询操作人员用户名失败: {}", ids.size(), e);
+            names = Map.of();
+        }
+        for (OperationLog operationLog : batch) {
+            Long operatorId = operationLog.getOperatorId();
+            if (operatorId != null) {
+                operationLog.setOperatorName(names.getOrDefault(operatorId, String.valueOf(operatorId)));
+            }
+        }
+    }
+
+    private Map<Long, String> loadUsernames(Set<? extends Long> ids) {
+        Map<Long, String> result = new HashMap<>();
+        userService.lambdaQuery()
+                .select(User::getId, User::getUsername)
+                .in(User::getId, ids)
+                .list()
+                .forEach(user -> result.put(user.getId(), user.getUsername()));
+        return result;
+    }
+}
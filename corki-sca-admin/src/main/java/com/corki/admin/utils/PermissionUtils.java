@@ -34,9 +34,11 @@ public class PermissionUtils {
             return false;
         }
 
+        // 只取一次权限列表，逐个匹配走预编译的匹配器
+        List<String> permissionList = StpUtil.getPermissionList();
         String[] permissionArray = permissions.split(",");
         for (String permission : permissionArray) {
-            if (!StpUtil.hasPermission(permission.trim())) {
+            if (!StpUtil.stpLogic.hasElement(permissionList, permission.trim())) {
                 return false;
             }
         }
@@ -54,9 +56,10 @@ public class PermissionUtils {
             return false;
         }
 
+        List<String> permissionList = StpUtil.getPermissionList();
         String[] permissionArray = permissions.split(",");
         for (String permission : permissionArray) {
-            if (StpUtil.hasPermission(permission.trim())) {
+            if (StpUtil.stpLogic.hasElement(permissionList, permission.trim())) {
                 return true;
             }
         }
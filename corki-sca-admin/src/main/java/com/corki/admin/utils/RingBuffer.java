@@ -0,0 +1,113 @@
+package com.corki.admin.utils;
+
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 有界无锁环形缓冲区（多生产者、单消费者）
+ * 每个槽位带一个序号：生产者 CAS 抢占写位置后写入元素并发布序号，消费者只读取序号已发布的槽位，
+ * 全程不加锁；缓冲区满时 {@link #offer} 直接返回 false，由调用方决定丢弃或降级。
+ * {@link #poll} 与 {@link #drainTo} 只能由同一个线程调用。
+ *
+ * @author Corki
+ * @since 2026-10-17
+ */
+public class RingBuffer<E> {
+
+    private final int mask;
+
+    private final AtomicReferenceArray<E> elements;
+
+    /**
+     * 槽位序号：等于写位置表示可写，等于写位置 + 1 表示已写入待消费
+     */
+    private final AtomicLongArray sequences;
+
+    private final AtomicLong tail = new AtomicLong();
+
+    /**
+     * 读位置，仅消费线程访问
+     */
+    private long head;
+
+    /**
+     * @param capacity 容量，向上取整为 2 的幂
+     */
+    public RingBuffer(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity) - 1) << 1;
+        this.mask = size - 1;
+        this.elements = new AtomicReferenceArray<>(size);
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * 写入元素，可被多个线程并发调用
+     *
+     * @return 缓冲区已满时返回 false
+     */
+    public boolean offer(E element) {
+        long position = tail.get();
+        while (true) {
+            int index = (int) (position & mask);
+            long diff = sequences.get(index) - position;
+            if (diff == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    elements.lazySet(index, element);
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if (diff < 0) {
+                // 槽位尚未被消费，缓冲区已满
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    /**
+     * 取出一个元素，仅限消费线程调用
+     *
+     * @return 没有已发布的元素时返回 null
+     */
+    public E poll() {
+        int index = (int) (head & mask);
+        if (sequences.get(index) != head + 1) {
+            return null;
+        }
+        E element = elements.get(index);
+        elements.lazySet(index, null);
+        // 释放槽位给下一圈的生产者
+        sequences.set(index, head + mask + 1);
+        head++;
+        return element;
+    }
+
+    /**
+     * 批量取出元素，仅限消费线程调用
+     *
+     * @return 取出的数量
+     */
+    public int drainTo(Collection<? super E> target, int maxElements) {
+        int count = 0;
+        E element;
+        while (count < maxElements && (element = poll()) != null) {
+            target.add(element);
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * 容量
+     */
+    public int capacity() {
+        return mask + 1;
+    }
+}
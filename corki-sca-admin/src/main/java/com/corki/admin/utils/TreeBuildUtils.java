@@ -0,0 +1,85 @@
+package com.corki.admin.utils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * 树结构构建工具类
+ * 按 parentId 将节点一次性分桶，再为每个节点挂载子节点桶，整体 O(n)，
+ * 适用于菜单（Menu）、部门（Dept）等以 id / parentId / children 组织的实体。
+ *
+ * @author Corki
+ * @since 2026-10-17
+ */
+public class TreeBuildUtils {
+
+    private TreeBuildUtils() {
+    }
+
+    /**
+     * 构建指定父节点下的树
+     *
+     * @param nodes          节点列表
+     * @param idGetter       节点ID
+     * @param parentIdGetter 父节点ID
+     * @param childrenSetter 设置子节点
+     * @param parentId       根节点的父ID
+     * @return 根节点列表（保持原列表顺序）
+     */
+    public static <T, K> List<T> build(List<T> nodes, Function<T, K> idGetter, Function<T, K> parentIdGetter,
+                                       BiConsumer<T, List<T>> childrenSetter, K parentId) {
+        Map<K, List<T>> buckets = linkChildren(nodes, idGetter, parentIdGetter, childrenSetter);
+        List<T> roots = buckets.get(parentId);
+        return roots != null ? roots : new ArrayList<>();
+    }
+
+    /**
+     * 构建树，父节点不在列表中的节点视为顶级节点
+     *
+     * @param nodes          节点列表
+     * @param idGetter       节点ID
+     * @param parentIdGetter 父节点ID
+     * @param childrenSetter 设置子节点
+     * @return 顶级节点列表（保持原列表顺序）
+     */
+    public static <T, K> List<T> build(List<T> nodes, Function<T, K> idGetter, Function<T, K> parentIdGetter,
+                                       BiConsumer<T, List<T>> childrenSetter) {
+        linkChildren(nodes, idGetter, parentIdGetter, childrenSetter);
+        Set<K> ids = new HashSet<>(nodes.size() * 2);
+        for (T node : nodes) {
+            ids.add(idGetter.apply(node));
+        }
+        List<T> roots = new ArrayList<>();
+        for (T node : nodes) {
+            if (!ids.contains(parentIdGetter.apply(node))) {
+                roots.add(node);
+            }
+        }
+        return roots;
+    }
+
+    /**
+     * 按父节点ID分桶并为每个节点设置子节点列表
+     *
+     * @return 父节点ID -> 子节点列表
+     */
+    private static <T, K> Map<K, List<T>> linkChildren(List<T> nodes, Function<T, K> idGetter,
+                                                       Function<T, K> parentIdGetter,
+                                                       BiConsumer<T, List<T>> childrenSetter) {
+        Map<K, List<T>> buckets = new HashMap<>(nodes.size() * 2);
+        for (T node : nodes) {
+            buckets.computeIfAbsent(parentIdGetter.apply(node), k -> new ArrayList<>()).add(node);
+        }
+        for (T node : nodes) {
+            List<T> children = buckets.get(idGetter.apply(node));
+            childrenSetter.accept(node, children != null ? children : new ArrayList<>());
+        }
+        return buckets;
+    }
+}
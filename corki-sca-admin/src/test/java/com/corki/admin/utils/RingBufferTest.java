@@ -0,0 +1,137 @@
+package com.corki.admin.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * RingBuffer 多生产者测试
+ *
+ * @author Corki
+ * @since 2026-10-17
+ */
+class RingBufferTest {
+
+    private static final int PRODUCERS = 8;
+
+    @Test
+    void rejectsWhenFullAndReusesSlotsAfterWrap() {
+        RingBuffer<Integer> buffer = new RingBuffer<>(8);
+        for (int round = 0; round < 3; round++) {
+            for (int i = 0; i < buffer.capacity(); i++) {
+                assertTrue(buffer.offer(round * 100 + i));
+            }
+            assertFalse(buffer.offer(-1));
+            for (int i = 0; i < buffer.capacity(); i++) {
+                assertEquals(round * 100 + i, buffer.poll());
+            }
+            assertNull(buffer.poll());
+        }
+    }
+
+    /**
+     * 无消费者时并发写满：接受的数量恰好等于容量，取出的元素与接受的元素一致
+     */
+    @Test
+    void concurrentProducersFillExactlyCapacity() throws Exception {
+        RingBuffer<Long> buffer = new RingBuffer<>(1024);
+        int perProducer = 500;
+        ExecutorService executor = Executors.newFixedThreadPool(PRODUCERS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<List<Long>>> futures = new ArrayList<>();
+        for (int p = 0; p < PRODUCERS; p++) {
+            long producer = p;
+            futures.add(executor.submit(() -> {
+                start.await();
+                List<Long> accepted = new ArrayList<>();
+                for (int i = 0; i < perProducer; i++) {
+                    long value = producer * perProducer + i;
+                    if (buffer.offer(value)) {
+                        accepted.add(value);
+                    }
+                }
+                return accepted;
+            }));
+        }
+        start.countDown();
+        Set<Long> accepted = new HashSet<>();
+        for (Future<List<Long>> future : futures) {
+            accepted.addAll(future.get(10, TimeUnit.SECONDS));
+        }
+        executor.shutdown();
+
+        assertEquals(buffer.capacity(), accepted.size());
+        List<Long> drained = new ArrayList<>();
+        assertEquals(buffer.capacity(), buffer.drainTo(drained, Integer.MAX_VALUE));
+        assertEquals(accepted, new HashSet<>(drained));
+        assertNull(buffer.poll());
+    }
+
+    /**
+     * 并发写入与消费，缓冲区反复写满并多次回绕：每个元素恰好消费一次，同一生产者的元素保持顺序
+     */
+    @Test
+    void concurrentProducersWithConsumerLoseNothingAcrossWraps() throws Exception {
+        RingBuffer<Long> buffer = new RingBuffer<>(64);
+        int perProducer = 10_000;
+        ExecutorService executor = Executors.newFixedThreadPool(PRODUCERS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int p = 0; p < PRODUCERS; p++) {
+            long producer = p;
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < perProducer; i++) {
+                    // 高 32 位为生产者编号，低 32 位为序号
+                    long value = (producer << 32) | i;
+                    while (!buffer.offer(value)) {
+                        // 缓冲区已满，等待消费者腾出槽位
+                        Thread.yield();
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+
+        int total = PRODUCERS * perProducer;
+        long[] nextSequence = new long[PRODUCERS];
+        List<Long> batch = new ArrayList<>();
+        int consumed = 0;
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (consumed < total) {
+            assertTrue(System.nanoTime() < deadline, "消费超时，已消费: " + consumed);
+            batch.clear();
+            if (buffer.drainTo(batch, 100) == 0) {
+                Thread.yield();
+                continue;
+            }
+            for (long value : batch) {
+                int producer = (int) (value >>> 32);
+                long sequence = value & 0xFFFFFFFFL;
+                assertEquals(nextSequence[producer], sequence, "生产者 " + producer + " 的元素丢失、重复或乱序");
+                nextSequence[producer]++;
+            }
+            consumed += batch.size();
+        }
+        for (Future<?> future : futures) {
+            future.get(10, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        assertNull(buffer.poll());
+        for (long sequence : nextSequence) {
+            assertEquals(perProducer, sequence);
+        }
+    }
+}
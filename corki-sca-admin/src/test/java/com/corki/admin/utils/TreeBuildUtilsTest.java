@@ -0,0 +1,108 @@
+package com.corki.admin.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * TreeBuildUtils 测试
+ *
+ * @author Corki
+ * @since 2026-10-17
+ */
+class TreeBuildUtilsTest {
+
+    @Test
+    void buildsChildrenInListOrder() {
+        List<Node> nodes = List.of(node(3, 1), node(1, 0), node(2, 1), node(4, 3), node(5, 0));
+
+        List<Node> roots = build(nodes, 0L);
+
+        assertEquals(List.of(1L, 5L), ids(roots));
+        assertEquals(List.of(3L, 2L), ids(roots.get(0).children));
+        assertEquals(List.of(4L), ids(roots.get(0).children.get(0).children));
+        assertTrue(roots.get(1).children.isEmpty());
+    }
+
+    /**
+     * 指定根父ID时，父节点不存在的孤儿节点不出现在结果中
+     */
+    @Test
+    void dropsOrphansUnderGivenParent() {
+        List<Node> nodes = List.of(node(1, 0), node(2, 1), node(3, 99), node(4, 3));
+
+        List<Node> roots = build(nodes, 0L);
+
+        assertEquals(List.of(1L), ids(roots));
+        assertEquals(List.of(2L), ids(roots.get(0).children));
+        assertEquals(List.of(4L), ids(nodes.get(2).children));
+    }
+
+    /**
+     * 未指定根父ID时，父节点不在列表中的节点都视为顶级节点
+     */
+    @Test
+    void treatsOrphansAsRoots() {
+        List<Node> nodes = List.of(node(2, 1), node(3, 99), node(1, 0), node(4, 3));
+
+        List<Node> roots = TreeBuildUtils.build(nodes, n -> n.id, n -> n.parentId, (n, c) -> n.children = c);
+
+        assertEquals(List.of(3L, 1L), ids(roots));
+        assertEquals(List.of(4L), ids(roots.get(0).children));
+        assertEquals(List.of(2L), ids(roots.get(1).children));
+    }
+
+    @Test
+    void returnsEmptyWhenNoRoot() {
+        assertTrue(build(new ArrayList<>(), 0L).isEmpty());
+        assertTrue(build(List.of(node(2, 1)), 0L).isEmpty());
+    }
+
+    /**
+     * 1 万节点的深链：线性构建，且每个节点都挂到正确的父节点下
+     */
+    @Test
+    void buildsDeepTree() {
+        List<Node> nodes = new ArrayList<>();
+        for (long i = 10_000; i >= 1; i--) {
+            nodes.add(node(i, i - 1));
+        }
+
+        List<Node> roots = build(nodes, 0L);
+
+        Node current = roots.get(0);
+        for (long i = 1; i < 10_000; i++) {
+            assertEquals(i, current.id);
+            assertEquals(1, current.children.size());
+            current = current.children.get(0);
+        }
+        assertTrue(current.children.isEmpty());
+    }
+
+    private static List<Node> build(List<Node> nodes, Long parentId) {
+        return TreeBuildUtils.build(nodes, n -> n.id, n -> n.parentId, (n, c) -> n.children = c, parentId);
+    }
+
+    private static List<Long> ids(List<Node> nodes) {
+        return nodes.stream().map(n -> n.id).toList();
+    }
+
+    private static Node node(long id, long parentId) {
+        Node node = new Node();
+        node.id = id;
+        node.parentId = parentId;
+        return node;
+    }
+
+    private static final class Node {
+
+        private Long id;
+
+        private Long parentId;
+
+        private List<Node> children;
+    }
+}
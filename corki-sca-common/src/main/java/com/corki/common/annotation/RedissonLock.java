@@ -48,6 +48,13 @@ public @interface RedissonLock {
      */
     String keyExpression() default "";
 
+    /**
+     * 是否先获取同名本地锁
+     * 开启后同一 JVM 内的竞争者先在本地排队，只有拿到本地锁的线程才去 Redis 竞争，
+     * 适用于单节点内高并发争抢同一 key 的场景，本地排队时间计入 waitTime
+     */
+    boolean localFirst() default false;
+
     /**
      * 锁的类型枚举
      */
@@ -1,6 +1,8 @@
 package com.corki.common.aspect;
 
 import com.corki.common.annotation.RedissonLock;
+import com.corki.common.metrics.LockMetrics;
+import com.corki.common.utils.KeyedLocalLock;
 import com.corki.common.utils.RedissonUtil;
 import lombok.extern.slf4j.Slf4j;
 import org.aspectj.lang.ProceedingJoinPoint;
@@ -13,12 +15,18 @@ import org.springframework.core.annotation.Order;
 import org.springframework.expression.EvaluationContext;
 import org.springframework.expression.Expression;
 import org.springframework.expression.ExpressionParser;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelParserConfiguration;
 import org.springframework.expression.spel.standard.SpelExpressionParser;
 import org.springframework.expression.spel.support.StandardEvaluationContext;
 import org.springframework.stereotype.Component;
 
 import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.function.Function;
 
 /**
  * Redisson分布式锁AOP切面
@@ -35,35 +43,73 @@ public class RedissonLockAspect {
     @Autowired
     private RedissonUtil redissonUtil;
 
-    private final ExpressionParser parser = new SpelExpressionParser();
+    @Autowired
+    private LockMetrics lockMetrics;
+
+    /**
+     * 混合模式：解释执行若干次后编译为字节码，编译后类型假设不成立时由 SpEL 自行退回解释执行并在之后重新编译
+     */
+    private final ExpressionParser parser = new SpelExpressionParser(
+            new SpelParserConfiguration(SpelCompilerMode.MIXED, getClass().getClassLoader()));
+
+    /**
+     * 方法 -> 锁元数据
+     */
+    private final Map<Method, LockMetadata> metadataCache = new ConcurrentHashMap<>();
 
     @Around("@annotation(redissonLock)")
     public Object around(ProceedingJoinPoint joinPoint, RedissonLock redissonLock) throws Throwable {
+        LockMetadata metadata = getMetadata(joinPoint, redissonLock);
+
         // 获取锁的key
-        String lockKey = getLockKey(joinPoint, redissonLock);
+        String lockKey = getLockKey(joinPoint, redissonLock, metadata);
 
         // 获取锁
-        RLock lock = getLock(redissonLock, lockKey);
+        RLock lock = metadata.lockFactory.apply(lockKey);
+
+        // localFirst 模式下先在本地排队，读锁之间不互斥
+        Lock localLock = redissonLock.localFirst()
+                ? redissonUtil.getLocalLock(lockKey, redissonLock.lockType() == RedissonLock.LockType.READ)
+                : null;
 
         // 尝试获取锁
+        String lockName = redissonLock.value();
+        long start = System.nanoTime();
+        long acquiredNano = 0;
+        boolean localLocked = false;
         boolean locked = false;
         try {
+            long waitMillis = TimeUnit.SECONDS.toMillis(redissonLock.waitTime());
+            if (localLock != null) {
+                localLocked = KeyedLocalLock.tryLock(localLock, redissonLock.waitTime(), TimeUnit.SECONDS);
+                if (!localLocked) {
+                    lockMetrics.timeout(lockName, lockKey, start);
+                    log.warn("获取本地锁失败: {}", lockKey);
+                    throw new RuntimeException("系统繁忙，请稍后再试");
+                }
+                waitMillis = KeyedLocalLock.remainingMillis(redissonLock.waitTime(), TimeUnit.SECONDS, start);
+            }
+
             if (redissonLock.leaseTime() == -1) {
                 // 看门狗模式
-                locked = lock.tryLock(redissonLock.waitTime(), -1, TimeUnit.SECONDS);
+                locked = lock.tryLock(waitMillis, -1, TimeUnit.MILLISECONDS);
             } else {
-                locked = lock.tryLock(redissonLock.waitTime(), redissonLock.leaseTime(), TimeUnit.SECONDS);
+                locked = lock.tryLock(waitMillis, TimeUnit.SECONDS.toMillis(redissonLock.leaseTime()), TimeUnit.MILLISECONDS);
             }
 
             if (locked) {
+                lockMetrics.acquired(lockName, lockKey, start);
+                acquiredNano = System.nanoTime();
                 log.debug("获取分布式锁成功: {}", lockKey);
                 // 执行业务方法
                 return joinPoint.proceed();
             } else {
+                lockMetrics.timeout(lockName, lockKey, start);
                 log.warn("获取分布式锁失败: {}", lockKey);
                 throw new RuntimeException("系统繁忙，请稍后再试");
             }
         } catch (InterruptedException e) {
+            lockMetrics.interrupted(lockName, lockKey, start);
             log.error("获取分布式锁被中断: {}", lockKey, e);
             Thread.currentThread().interrupt();
             throw new RuntimeException("获取分布式锁失败", e);
@@ -72,69 +118,94 @@ public class RedissonLockAspect {
                 // 释放锁
                 try {
                     lock.unlock();
+                    lockMetrics.released(lockName, acquiredNano);
                     log.debug("释放分布式锁成功: {}", lockKey);
                 } catch (Exception e) {
                     log.error("释放分布式锁失败: {}", lockKey, e);
                 }
             }
+            if (localLocked) {
+                localLock.unlock();
+            }
         }
     }
 
     /**
      * 获取锁的key
      */
-    private String getLockKey(ProceedingJoinPoint joinPoint, RedissonLock redissonLock) {
+    private String getLockKey(ProceedingJoinPoint joinPoint, RedissonLock redissonLock, LockMetadata metadata) {
         // 如果有自定义key表达式
-        if (!redissonLock.keyExpression().isEmpty()) {
-            return parseKeyExpression(joinPoint, redissonLock.keyExpression());
+        if (metadata.keyExpression != null) {
+            return metadata.evaluateKey(joinPoint.getArgs());
         }
         // 使用注解中的value
         return redissonLock.value();
     }
 
     /**
-     * 解析SpEL表达式获取key
+     * 获取方法对应的锁元数据，首次调用时解析并缓存
      */
-    private String parseKeyExpression(ProceedingJoinPoint joinPoint, String keyExpression) {
+    private LockMetadata getMetadata(ProceedingJoinPoint joinPoint, RedissonLock redissonLock) {
         MethodSignature methodSignature = (MethodSignature) joinPoint.getSignature();
         Method method = methodSignature.getMethod();
-        String[] paramNames = methodSignature.getParameterNames();
-        Object[] args = joinPoint.getArgs();
-
-        EvaluationContext context = new StandardEvaluationContext();
-        if (paramNames != null) {
-            for (int i = 0; i < paramNames.length; i++) {
-                context.setVariable(paramNames[i], args[i]);
-            }
-        } else {
-            // 如果无法获取参数名，使用 p0, p1, p2... 作为变量名
-            for (int i = 0; i < args.length; i++) {
-                context.setVariable("p" + i, args[i]);
-            }
-        }
-        Expression expression = parser.parseExpression(keyExpression);
-        Object value = expression.getValue(context);
-        return value != null ? value.toString() : "";
+        return metadataCache.computeIfAbsent(method, m -> new LockMetadata(methodSignature, redissonLock));
     }
 
     /**
-     * 根据锁类型获取锁对象
+     * 根据锁类型解析获取锁的方法
      */
-    private RLock getLock(RedissonLock redissonLock, String lockKey) {
+    private Function<String, RLock> resolveLockFactory(RedissonLock redissonLock) {
         switch (redissonLock.lockType()) {
             case FAIR:
-                return redissonUtil.getFairLock(lockKey);
+                return redissonUtil::getFairLock;
             case READ:
-                return redissonUtil.getReadLock(lockKey);
+                return redissonUtil::getReadLock;
             case WRITE:
-                return redissonUtil.getWriteLock(lockKey);
+                return redissonUtil::getWriteLock;
             case REENTRANT:
             default:
                 if (redissonLock.fair()) {
-                    return redissonUtil.getFairLock(lockKey);
+                    return redissonUtil::getFairLock;
                 } else {
-                    return redissonUtil.getLock(lockKey);
+                    return redissonUtil::getLock;
+                }
+        }
+    }
+
+    /**
+     * 方法级锁元数据：解析后的key表达式、参数名与锁类型
+     */
+    private final class LockMetadata {
+
+        private final String[] paramNames;
+
+        private final Function<String, RLock> lockFactory;
+
+        private final Expression keyExpression;
+
+        private LockMetadata(MethodSignature methodSignature, RedissonLock redissonLock) {
+            this.lockFactory = resolveLockFactory(redissonLock);
+            String[] names = methodSignature.getParameterNames();
+            if (names == null) {
+                // 如果无法获取参数名，使用 p0, p1, p2... 作为变量名
+                int count = methodSignature.getMethod().getParameterCount();
+                names = new String[count];
+                for (int i = 0; i < count; i++) {
+                    names[i] = "p" + i;
                 }
+            }
+            this.paramNames = names;
+            String expression = redissonLock.keyExpression();
+            this.keyExpression = expression.isEmpty() ? null : parser.parseExpression(expression);
+        }
+
+        private String evaluateKey(Object[] args) {
+            EvaluationContext context = new StandardEvaluationContext();
+            for (int i = 0; i < paramNames.length && i < args.length; i++) {
+                context.setVariable(paramNames[i], args[i]);
+            }
+            Object value = keyExpression.getValue(context);
+            return value != null ? value.toString() : "";
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,45 @@
+package com.corki.common.auth;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * 携带预编译匹配器的只读权限列表
+ * 由 StpInterface 返回给 Sa-Token，{@link PermissionStrategyConfigure} 识别该类型后直接走匹配器，
+ * 不再对列表逐个做字符串模糊匹配。
+ *
+ * @author Corki
+ * @since 2026-10-17
+ */
+public class CompiledPermissionList extends AbstractList<String> {
+
+    private final List<String> values;
+
+    private final PermissionMatcher matcher;
+
+    public CompiledPermissionList(List<String> values) {
+        this.values = values.stream().filter(Objects::nonNull).toList();
+        this.matcher = PermissionMatcher.compile(this.values);
+    }
+
+    /**
+     * 判断是否拥有指定权限
+     *
+     * @param permission 权限码
+     * @return 是否匹配
+     */
+    public boolean matches(String permission) {
+        return matcher.matches(permission);
+    }
+
+    @Override
+    public String get(int index) {
+        return values.get(index);
+    }
+
+    @Override
+    public int size() {
+        return values.size();
+    }
+}
@@ -0,0 +1,59 @@
+package com.corki.common.auth;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.Data;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * 登录凭证投影
+ * 只包含校验密码、检查状态与构建登录响应所需的字段，由 {@link LoginCredentialCache} 缓存。
+ * 最后登录时间等每次登录都会变化的字段不在其中，写这些字段不需要失效缓存。
+ *
+ * @author Corki
+ * @since 2026-10-17
+ */
+@Data
+public class LoginCredential implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 用户ID，为 null 表示用户名不存在（负缓存）
+     */
+    private Long id;
+
+    private String username;
+
+    /**
+     * 密码哈希
+     */
+    private String password;
+
+    private Integer status;
+
+    private String email;
+
+    private String mobile;
+
+    private String nickname;
+
+    private String avatar;
+
+    private Integer sex;
+
+    private Long deptId;
+
+    private LocalDateTime registrationTime;
+
+    /**
+     * 是否为不存在用户名的负缓存条目（由 id 推导，不参与 JSON 序列化）
+     */
+    @JsonIgnore
+    public boolean isMissing() {
+        return id == null;
+    }
+}
@@ -0,0 +1,195 @@
+package com.corki.common.auth;
+
+import cn.hutool.core.util.StrUtil;
+import com.corki.common.utils.RedissonUtil;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RAtomicLong;
+import org.redisson.api.RBucket;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * 用户名 -> 登录凭证缓存
+ * 两级缓存：本地 Caffeine（有界）+ Redis，两级都未命中才由调用方查库，同一用户名的并发加载在本地合并为一次。
+ * 不存在的用户名同样缓存（负缓存），过期时间更短，撞库流量不会到达数据库。
+ * 用户新增、修改、删除后调用 {@link #invalidate}，删除 Redis 条目并广播，各节点清除本地条目。
+ * 每个用户名带一个代数（generation），失效时递增；查库前后代数不一致说明查库期间发生了修改，
+ * 回填的可能是旧值，删除后重新加载。事务内失效时在提交后再执行一次，避免提交前被旧数据回填。
+ *
+ * @author Corki
+ * @since 2026-10-17
+ */
+@Slf4j
+@Component
+public class LoginCredentialCache {
+
+    private static final String KEY_PREFIX = "login:credential:";
+
+    private static final String GENERATION_PREFIX = "login:credential:gen:";
+
+    private static final String INVALIDATE_TOPIC = "login:credential:invalidate";
+
+    /**
+     * 查库期间发生修改时的最大加载次数
+     */
+    private static final int MAX_LOAD_ATTEMPTS = 3;
+
+    @Resource
+    private RedissonUtil redissonUtil;
+
+    @Value("${login.credentialCache.localSeconds:300}")
+    private long localSeconds;
+
+    @Value("${login.credentialCache.maximumSize:100000}")
+    private long maximumSize;
+
+    @Value("${login.credentialCache.redisSeconds:1800}")
+    private long redisSeconds;
+
+    /**
+     * 负缓存过期时间（秒），本地与 Redis 相同
+     */
+    @Value("${login.credentialCache.negativeSeconds:30}")
+    private long negativeSeconds;
+
+    /**
+     * loginType:username -> 凭证
+     */
+    private Cache<String, LoginCredential> localCache;
+
+    @PostConstruct
+    public void init() {
+        localCache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new CredentialExpiry())
+                .build();
+        redissonUtil.subscribe(INVALIDATE_TOPIC, (channel, key) -> localCache.invalidate(key), String.class);
+    }
+
+    /**
+     * 获取登录凭证
+     *
+     * @param loginType 账号类型
+     * @param username  用户名
+     * @param loader    两级缓存都未命中时按用户名查库，不存在返回 null
+     * @return 凭证，用户名不存在返回 null
+     */
+    public LoginCredential get(String loginType, String username, Function<String, LoginCredential> loader) {
+        if (StrUtil.isBlank(username)) {
+            return null;
+        }
+        LoginCredential credential = localCache.get(cacheKey(loginType, username), key -> load(key, username, loader));
+        return credential.isMissing() ? null : credential;
+    }
+
+    /**
+     * 失效指定用户名的凭证，用户新增（清除负缓存）、修改、删除后调用
+     */
+    public void invalidate(String loginType, String username) {
+        if (StrUtil.isBlank(username)) {
+            return;
+        }
+        String key = cacheKey(loginType, username);
+        evict(key);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(key);
+                }
+            });
+        }
+    }
+
+    private void evict(String key) {
+        localCache.invalidate(key);
+        try {
+            RAtomicLong generation = redissonUtil.getAtomicLong(GENERATION_PREFIX + key);
+            generation.incrementAndGet();
+            // 代数过期后从 0 重新开始，跨越过期的加载同样会判定为不一致
+            generation.expire(Duration.ofSeconds(redisSeconds));
+            redissonUtil.getBucket(KEY_PREFIX + key).delete();
+            redissonUtil.publish(INVALIDATE_TOPIC, key);
+        } catch (Exception e) {
+            log.warn("失效登录凭证缓存失败: {}", key, e);
+        }
+    }
+
+    private LoginCredential load(String key, String username, Function<String, LoginCredential> loader) {
+        RBucket<LoginCredential> bucket = redissonUtil.getBucket(KEY_PREFIX + key);
+        RAtomicLong generation = redissonUtil.getAtomicLong(GENERATION_PREFIX + key);
+        long before;
+        try {
+            LoginCredential cached = bucket.get();
+            if (cached != null) {
+                return cached;
+            }
+            before = generation.get();
+        } catch (Exception e) {
+            log.warn("读取登录凭证缓存失败，查库: {}", key, e);
+            return loadFromDb(username, loader);
+        }
+        for (int attempt = 1; ; attempt++) {
+            LoginCredential credential = loadFromDb(username, loader);
+            try {
+                // 只在不存在时写入，不覆盖其他节点在失效之后加载的新值
+                bucket.setIfAbsent(credential, Duration.ofSeconds(credential.isMissing() ? negativeSeconds : redisSeconds));
+                long after = generation.get();
+                if (after == before || attempt >= MAX_LOAD_ATTEMPTS) {
+                    return credential;
+                }
+                // 查库期间凭证被修改，刚写入的可能是旧值
+                bucket.delete();
+                before = after;
+            } catch (Exception e) {
+                log.warn("写入登录凭证缓存失败: {}", key, e);
+                return credential;
+            }
+        }
+    }
+
+    private LoginCredential loadFromDb(String username, Function<String, LoginCredential> loader) {
+        LoginCredential credential = loader.apply(username);
+        if (credential == null) {
+            credential = new LoginCredential();
+            credential.setUsername(username);
+        }
+        return credential;
+    }
+
+    private String cacheKey(String loginType, String username) {
+        return loginType + ":" + username;
+    }
+
+    /**
+     * 负缓存条目使用更短的过期时间
+     */
+    private class CredentialExpiry implements Expiry<String, LoginCredential> {
+
+        @Override
+        public long expireAfterCreate(String key, LoginCredential value, long currentTime) {
+            return TimeUnit.SECONDS.toNanos(value.isMissing() ? negativeSeconds : localSeconds);
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, LoginCredential value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, LoginCredential value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package com.corki.common.auth;
+
+import cn.hutool.core.util.StrUtil;
+import com.corki.common.utils.RedissonUtil;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.BatchResult;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * 登录防暴力破解
+ * 按账号、按 IP 在 Redis 中记录登录失败次数，每次失败刷新过期时间（滑动窗口），在查库与哈希之前检查：
+ * <ul>
+ *     <li>失败次数达到 captchaThreshold / ipCaptchaThreshold：要求验证码</li>
+ *     <li>失败次数达到 lockThreshold / ipLockThreshold：锁定 lockSeconds，期间直接拒绝</li>
+ * </ul>
+ * Redis 不可用时放行，不影响正常登录。
+ *
+ * @author Corki
+ * @since 2026-10-17
+ */
+@Slf4j
+@Component
+public class LoginThrottle {
+
+    private static final String USER_KEY_PREFIX = "login:fail:user:";
+
+    private static final String IP_KEY_PREFIX = "login:fail:ip:";
+
+    @Resource
+    private RedissonUtil redissonUtil;
+
+    @Value("${login.throttle.enabled:true}")
+    private boolean enabled;
+
+    /**
+     * 失败计数窗口（秒），每次失败重新计时
+     */
+    @Value("${login.throttle.windowSeconds:900}")
+    private long windowSeconds;
+
+    @Value("${login.throttle.captchaThreshold:3}")
+    private long captchaThreshold;
+
+    @Value("${login.throttle.lockThreshold:10}")
+    private long lockThreshold;
+
+    @Value("${login.throttle.ipCaptchaThreshold:20}")
+    private long ipCaptchaThreshold;
+
+    @Value("${login.throttle.ipLockThreshold:100}")
+    private long ipLockThreshold;
+
+    /**
+     * 锁定时长（秒）
+     */
+    @Value("${login.throttle.lockSeconds:900}")
+    private long lockSeconds;
+
+    /**
+     * 登录前检查，一次批量往返读取账号与 IP 的失败次数
+     *
+     * @param loginType 账号类型
+     * @param username  用户名
+     * @param ip        客户端 IP，可为 null
+     * @return 检查结果
+     */
+    public State check(String loginType, String username, String ip) {
+        if (!enabled) {
+            return State.ALLOW;
+        }
+        String userKey = userKey(loginType, username);
+        String ipKey = ipKey(loginType, ip);
+        try {
+            BatchResult<?> result = redissonUtil.executeBatch(batch -> {
+                batch.getAtomicLong(userKey).getAsync();
+                if (ipKey != null) {
+                    batch.getAtomicLong(ipKey).getAsync();
+                }
+            });
+            List<?> responses = result.getResponses();
+            long userFails = toLong(responses.get(0));
+            long ipFails = ipKey != null ? toLong(responses.get(1)) : 0;
+            if (userFails >= lockThreshold || ipFails >= ipLockThreshold) {
+                return State.LOCKED;
+            }
+            if (userFails >= captchaThreshold || ipFails >= ipCaptchaThreshold) {
+                return State.CAPTCHA;
+            }
+        } catch (Exception e) {
+            log.warn("读取登录失败次数失败，放行: {}", username, e);
+        }
+        return State.ALLOW;
+    }
+
+    /**
+     * 记录一次登录失败，账号与 IP 计数各加一并刷新过期时间，达到锁定阈值后过期时间延长为锁定时长
+     */
+    public void recordFailure(String loginType, String username, String ip) {
+        if (!enabled) {
+            return;
+        }
+        String userKey = userKey(loginType, username);
+        String ipKey = ipKey(loginType, ip);
+        Duration window = Duration.ofSeconds(windowSeconds);
+        try {
+            BatchResult<?> result = redissonUtil.executeBatch(batch -> {
+                batch.getAtomicLong(userKey).incrementAndGetAsync();
+                batch.getAtomicLong(userKey).expireAsync(window);
+                if (ipKey != null) {
+                    batch.getAtomicLong(ipKey).incrementAndGetAsync();
+                    batch.getAtomicLong(ipKey).expireAsync(window);
+                }
+            });
+            List<?> responses = result.getResponses();
+            Duration lock = Duration.ofSeconds(lockSeconds);
+            if (toLong(responses.get(0)) >= lockThreshold) {
+                redissonUtil.getAtomicLong(userKey).expire(lock);
+                log.warn("账号登录失败次数过多，锁定 {} 秒: {}:{}", lockSeconds, loginType, username);
+            }
+            if (ipKey != null && toLong(responses.get(2)) >= ipLockThreshold) {
+                redissonUtil.getAtomicLong(ipKey).expire(lock);
+                log.warn("IP 登录失败次数过多，锁定 {} 秒: {}:{}", lockSeconds, loginType, ip);
+            }
+        } catch (Exception e) {
+            log.warn("记录登录失败次数失败: {}", username, e);
+        }
+    }
+
+    /**
+     * 登录成功后清除账号失败计数，IP 计数保留至窗口过期
+     */
+    public void reset(String loginType, String username) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            redissonUtil.getAtomicLong(userKey(loginType, username)).delete();
+        } catch (Exception e) {
+            log.warn("清除登录失败次数失败: {}", username, e);
+        }
+    }
+
+    private String userKey(String loginType, String username) {
+        return USER_KEY_PREFIX + loginType + ":" + username;
+    }
+
+    private String ipKey(String loginType, String ip) {
+        return StrUtil.isBlank(ip) ? null : IP_KEY_PREFIX + loginType + ":" + ip;
+    }
+
+    private static long toLong(Object value) {
+        return value instanceof Number number ? number.longValue() : 0;
+    }
+
+    /**
+     * 检查结果
+     */
+    public enum State {
+        /**
+         * 正常登录
+         */
+        ALLOW,
+        /**
+         * 需要验证码
+         */
+        CAPTCHA,
+        /**
+         * 已锁定
+         */
+        LOCKED
+    }
+}
@@ -0,0 +1,16 @@
+package com.corki.common.auth;
+
+/**
+ * 密码校验结果
+ *
+ * @param matched      密码是否正确
+ * @param upgradedHash 旧格式（MD5）密码校验通过后生成的 BCrypt 哈希，需要回写数据库；无需升级时为 null
+ * @author Corki
+ * @since 2026-10-17
+ */
+public record PasswordCheck(boolean matched, String upgradedHash) {
+
+    static final PasswordCheck MISMATCH = new PasswordCheck(false, null);
+
+    static final PasswordCheck MATCH = new PasswordCheck(true, null);
+}
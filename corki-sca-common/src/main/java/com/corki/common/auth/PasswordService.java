@@ -0,0 +1,221 @@
+package com.corki.common.auth;
+
+import cn.dev33.satoken.secure.SaSecureUtil;
+import com.corki.common.exception.ServiceException;
+import com.corki.common.utils.AsyncRequestExecutor;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.KeyGenerator;
+import javax.crypto.Mac;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 密码哈希与校验
+ * <ul>
+ *     <li>新密码使用 BCrypt；历史 MD5 密码在调用线程比对，通过后尽力生成 BCrypt 哈希由调用方回写，实现无感升级，
+ *     线程池繁忙时本次跳过升级（下次登录再升级），正确的密码不会因此登录失败</li>
+ *     <li>BCrypt 计算放在专用有界线程池中执行，线程数默认等于 CPU 核数，队列满时直接拒绝（系统繁忙）；
+ *     登录接口经 {@link AsyncRequestExecutor} 在虚拟线程中调用，等待哈希结果时不占用 Tomcat 线程</li>
+ *     <li>校验通过的凭证在本地缓存一段时间，缓存 key 为进程随机密钥对（哈希 + 明文）的 HMAC，
+ *     密码修改后哈希变化，旧条目自然失效</li>
+ * </ul>
+ *
+ * @author Corki
+ * @since 2026-10-17
+ */
+@Slf4j
+@Component
+public class PasswordService {
+
+    private static final String BCRYPT_PREFIX = "$2";
+
+    private static final int MD5_HEX_LENGTH = 32;
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    @Value("${password.bcryptStrength:10}")
+    private int bcryptStrength;
+
+    /**
+     * 哈希线程数，0 表示 CPU 核数
+     */
+    @Value("${password.threads:0}")
+    private int threads;
+
+    /**
+     * 排队任务上限，超出后拒绝
+     */
+    @Value("${password.queueSize:256}")
+    private int queueSize;
+
+    /**
+     * 登录线程等待哈希结果的超时时间
+     */
+    @Value("${password.timeoutMillis:3000}")
+    private long timeoutMillis;
+
+    @Value("${password.verifiedCacheSeconds:300}")
+    private long verifiedCacheSeconds;
+
+    @Value("${password.verifiedCacheMaximumSize:10000}")
+    private long verifiedCacheMaximumSize;
+
+    private BCryptPasswordEncoder encoder;
+
+    private ThreadPoolExecutor executor;
+
+    private Cache<String, Boolean> verifiedCache;
+
+    private Key cacheKey;
+
+    @PostConstruct
+    public void init() throws GeneralSecurityException {
+        encoder = new BCryptPasswordEncoder(bcryptStrength);
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger counter = new AtomicInteger();
+        executor = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueSize), r -> {
+            Thread thread = new Thread(r, "password-hash-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }, new ThreadPoolExecutor.AbortPolicy());
+        verifiedCache = Caffeine.newBuilder()
+                .maximumSize(verifiedCacheMaximumSize)
+                .expireAfterWrite(Duration.ofSeconds(verifiedCacheSeconds))
+                .build();
+        cacheKey = KeyGenerator.getInstance(HMAC_ALGORITHM).generateKey();
+    }
+
+    @PreDestroy
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * 生成密码哈希
+     *
+     * @param rawPassword 明文密码
+     * @return BCrypt 哈希
+     */
+    public String encode(String rawPassword) {
+        return run(() -> encoder.encode(rawPassword));
+    }
+
+    /**
+     * 校验密码，兼容历史 MD5 密码
+     *
+     * @param rawPassword     明文密码
+     * @param encodedPassword 数据库中的密码
+     * @return 校验结果，MD5 密码校验通过时携带升级后的哈希
+     */
+    public PasswordCheck verify(String rawPassword, String encodedPassword) {
+        if (rawPassword == null || encodedPassword == null) {
+            return PasswordCheck.MISMATCH;
+        }
+        if (isLegacyMd5(encodedPassword)) {
+            boolean matched = MessageDigest.isEqual(
+                    SaSecureUtil.md5(rawPassword).getBytes(StandardCharsets.UTF_8),
+                    encodedPassword.toLowerCase().getBytes(StandardCharsets.UTF_8));
+            if (!matched) {
+                return PasswordCheck.MISMATCH;
+            }
+            String upgradedHash = tryEncode(rawPassword);
+            return upgradedHash != null ? new PasswordCheck(true, upgradedHash) : PasswordCheck.MATCH;
+        }
+        if (!encodedPassword.startsWith(BCRYPT_PREFIX)) {
+            return PasswordCheck.MISMATCH;
+        }
+        String verifiedKey = verifiedKey(rawPassword, encodedPassword);
+        if (verifiedCache.getIfPresent(verifiedKey) != null) {
+            return PasswordCheck.MATCH;
+        }
+        boolean matched = run(() -> encoder.matches(rawPassword, encodedPassword));
+        if (!matched) {
+            return PasswordCheck.MISMATCH;
+        }
+        verifiedCache.put(verifiedKey, Boolean.TRUE);
+        return PasswordCheck.MATCH;
+    }
+
+    /**
+     * 生成升级用的哈希，线程池繁忙时返回 null
+     */
+    private String tryEncode(String rawPassword) {
+        try {
+            return encode(rawPassword);
+        } catch (ServiceException e) {
+            log.info("密码哈希线程池繁忙，本次登录跳过 MD5 密码升级");
+            return null;
+        }
+    }
+
+    private boolean isLegacyMd5(String encodedPassword) {
+        if (encodedPassword.length() != MD5_HEX_LENGTH) {
+            return false;
+        }
+        for (int i = 0; i < MD5_HEX_LENGTH; i++) {
+            if (Character.digit(encodedPassword.charAt(i), 16) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private String verifiedKey(String rawPassword, String encodedPassword) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(cacheKey);
+            mac.update(encodedPassword.getBytes(StandardCharsets.UTF_8));
+            mac.update((byte) 0);
+            return Base64.getEncoder().encodeToString(mac.doFinal(rawPassword.getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("计算凭证缓存key失败", e);
+        }
+    }
+
+    /**
+     * 在哈希线程池中执行并等待结果，队列已满或等待超时时快速失败
+     */
+    private <T> T run(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            log.warn("密码哈希队列已满，拒绝本次请求");
+            throw new ServiceException("系统繁忙，请稍后再试");
+        }
+        try {
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            log.warn("密码哈希等待超时，队列长度: {}", executor.getQueue().size());
+            throw new ServiceException("系统繁忙，请稍后再试");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceException("系统繁忙，请稍后再试");
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("密码哈希计算失败", e.getCause());
+        }
+    }
+}
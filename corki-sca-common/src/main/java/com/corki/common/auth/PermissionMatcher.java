@@ -0,0 +1,124 @@
+package com.corki.common.auth;
+
+import cn.dev33.satoken.util.SaFoxUtil;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 预编译的权限码匹配器
+ * 按 ':' 分段构建前缀树，只有末段 '*' 入树（匹配剩余所有分段），
+ * 单次匹配只与权限码的分段数相关，与用户拥有的权限数量无关。
+ * Sa-Token 的 '*' 可以跨越多个分段（"system:*:list" 匹配 "system:user:dept:list"），
+ * 因此非末段的 '*' 以及形如 "system:us*" 的段内通配不入树，退化为 Sa-Token 的模糊匹配。
+ *
+ * @author Corki
+ * @since 2026-10-17
+ */
+public final class PermissionMatcher {
+
+    private static final String SEPARATOR = ":";
+
+    private static final String WILDCARD = "*";
+
+    private final Set<String> exact = new HashSet<>();
+
+    private final Node root = new Node();
+
+    private final List<String> vaguePatterns = new ArrayList<>();
+
+    private PermissionMatcher() {
+    }
+
+    /**
+     * 编译权限码集合
+     *
+     * @param patterns 权限码（可包含通配符）
+     * @return 匹配器
+     */
+    public static PermissionMatcher compile(Collection<String> patterns) {
+        PermissionMatcher matcher = new PermissionMatcher();
+        if (patterns == null) {
+            return matcher;
+        }
+        for (String pattern : patterns) {
+            if (pattern == null || pattern.isEmpty()) {
+                continue;
+            }
+            matcher.exact.add(pattern);
+            if (pattern.contains(WILDCARD)) {
+                matcher.addWildcard(pattern);
+            }
+        }
+        return matcher;
+    }
+
+    /**
+     * 判断是否拥有指定权限
+     *
+     * @param permission 需要校验的权限码
+     * @return 是否匹配
+     */
+    public boolean matches(String permission) {
+        if (permission == null) {
+            return false;
+        }
+        if (exact.contains(permission)) {
+            return true;
+        }
+        if (root.hasChildren() && match(root, permission.split(SEPARATOR, -1), 0)) {
+            return true;
+        }
+        for (String pattern : vaguePatterns) {
+            if (SaFoxUtil.vagueMatch(pattern, permission)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void addWildcard(String pattern) {
+        String[] segments = pattern.split(SEPARATOR, -1);
+        int last = segments.length - 1;
+        // 只有 "a:b:*" 形式可以入树，其余位置的 '*' 可能跨越多个分段
+        if (!WILDCARD.equals(segments[last]) || pattern.indexOf(WILDCARD) < pattern.length() - 1) {
+            vaguePatterns.add(pattern);
+            return;
+        }
+        Node node = root;
+        for (int i = 0; i < last; i++) {
+            node = node.children.computeIfAbsent(segments[i], k -> new Node());
+        }
+        node.matchRest = true;
+    }
+
+    private boolean match(Node node, String[] segments, int index) {
+        if (node.matchRest && index < segments.length) {
+            return true;
+        }
+        if (index == segments.length) {
+            return false;
+        }
+        Node child = node.children.get(segments[index]);
+        return child != null && match(child, segments, index + 1);
+    }
+
+    /**
+     * 前缀树节点
+     */
+    private static final class Node {
+
+        private final Map<String, Node> children = new HashMap<>(4);
+
+        private boolean matchRest;
+
+        private boolean hasChildren() {
+            return matchRest || !children.isEmpty();
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.corki.common.auth;
+
+import cn.dev33.satoken.fun.strategy.SaHasElementFunction;
+import cn.dev33.satoken.strategy.SaStrategy;
+import jakarta.annotation.PostConstruct;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+/**
+ * Sa-Token 权限匹配策略
+ * 所有 hasPermission / checkPermission / hasRole 最终都会调用 SaStrategy.hasElement，
+ * 对预编译的 {@link CompiledPermissionList} 使用前缀树匹配，其他列表保持 Sa-Token 默认行为。
+ *
+ * @author Corki
+ * @since 2026-10-17
+ */
+@Configuration
+public class PermissionStrategyConfigure {
+
+    @PostConstruct
+    public void registerHasElement() {
+        SaHasElementFunction defaultHasElement = SaStrategy.instance.hasElement;
+        if (defaultHasElement instanceof CompiledHasElement) {
+            return;
+        }
+        SaStrategy.instance.setHasElement(new CompiledHasElement(defaultHasElement));
+    }
+
+    /**
+     * 优先使用预编译匹配器的 hasElement 实现
+     */
+    private record CompiledHasElement(SaHasElementFunction fallback) implements SaHasElementFunction {
+
+        @Override
+        public Boolean apply(List<String> list, String element) {
+            if (list instanceof CompiledPermissionList compiled) {
+                return compiled.matches(element);
+            }
+            return fallback.apply(list, element);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.corki.common.auth;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+/**
+ * 网关路由权限条目：请求路径模式 -> 权限码
+ *
+ * @author Corki
+ * @since 2026-10-17
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RoutePermission implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 网关请求路径模式（Ant 风格），如 /admin/system/user/**
+     */
+    private String pattern;
+
+    /**
+     * 访问该路径所需的权限码
+     */
+    private String permission;
+}
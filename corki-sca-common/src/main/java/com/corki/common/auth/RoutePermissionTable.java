@@ -0,0 +1,170 @@
+package com.corki.common.auth;
+
+import com.corki.common.utils.RedissonUtil;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 网关路由权限表
+ * 由持有菜单数据的服务（admin）生成并写入 Redis，同时通过 Topic 通知各节点重新加载。
+ * 加载后按模式长度倒序（越具体越靠前）排列，无通配的模式走精确匹配，
+ * 其余模式按开头的字面量分段挂到前缀树上（如 /admin/system/user/** 挂在 admin → system → user），
+ * 单次匹配只需检查请求路径途经节点上的少量模式，不会因为所有路由共用网关前缀而退化为全表扫描。
+ *
+ * @author Corki
+ * @since 2026-10-17
+ */
+@Slf4j
+@Component
+public class RoutePermissionTable {
+
+    private static final String TABLE_KEY = "auth:route:permission";
+
+    private static final String RELOAD_TOPIC = "auth:route:permission:reload";
+
+    @Resource
+    private RedissonUtil redissonUtil;
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    private volatile Compiled compiled = new Compiled(List.of());
+
+    @PostConstruct
+    public void init() {
+        redissonUtil.subscribe(RELOAD_TOPIC, (channel, version) -> reload(), Long.class);
+        reload();
+    }
+
+    /**
+     * 发布新的路由权限表，所有节点收到通知后重新加载
+     *
+     * @param permissions 路由权限条目
+     */
+    public void publish(List<RoutePermission> permissions) {
+        redissonUtil.getRedissonClient().getBucket(TABLE_KEY).set(new ArrayList<>(permissions));
+        redissonUtil.publish(RELOAD_TOPIC, System.currentTimeMillis());
+        log.info("发布路由权限表，条目数: {}", permissions.size());
+    }
+
+    /**
+     * 查找请求路径所需的权限码
+     *
+     * @param path 请求路径
+     * @return 权限码，未配置时返回 null
+     */
+    public String match(String path) {
+        return compiled.match(path, pathMatcher);
+    }
+
+    private void reload() {
+        try {
+            List<RoutePermission> permissions = redissonUtil.getRedissonClient()
+                    .<List<RoutePermission>>getBucket(TABLE_KEY).get();
+            compiled = new Compiled(permissions == null ? List.of() : permissions);
+            log.info("加载路由权限表，条目数: {}", permissions == null ? 0 : permissions.size());
+        } catch (Exception e) {
+            // 保留旧表，下次通知时再加载
+            log.warn("加载路由权限表失败", e);
+        }
+    }
+
+    private static List<String> segments(String path) {
+        List<String> segments = new ArrayList<>();
+        for (String segment : path.split("/")) {
+            if (!segment.isEmpty()) {
+                segments.add(segment);
+            }
+        }
+        return segments;
+    }
+
+    /**
+     * 编译后的只读路由表
+     */
+    private static final class Compiled {
+
+        private final Map<String, String> exact = new HashMap<>();
+
+        /**
+         * 按模式开头的字面量分段建立的前缀树，模式挂在最后一个字面量分段对应的节点上
+         */
+        private final Node root = new Node();
+
+        private Compiled(List<RoutePermission> permissions) {
+            AntPathMatcher matcher = new AntPathMatcher();
+            List<RoutePermission> sorted = new ArrayList<>(permissions);
+            sorted.sort(Comparator.comparingInt((RoutePermission p) -> p.getPattern().length()).reversed());
+            for (int rank = 0; rank < sorted.size(); rank++) {
+                RoutePermission permission = sorted.get(rank);
+                String pattern = permission.getPattern();
+                if (!matcher.isPattern(pattern)) {
+                    exact.putIfAbsent(pattern, permission.getPermission());
+                    continue;
+                }
+                Node node = root;
+                for (String segment : segments(pattern)) {
+                    if (matcher.isPattern(segment)) {
+                        break;
+                    }
+                    node = node.children.computeIfAbsent(segment, k -> new Node());
+                }
+                node.candidates.add(new Candidate(rank, permission));
+            }
+        }
+
+        /**
+         * 沿请求路径的分段下行，只检查途经节点上的模式，多个命中时取排序最靠前（最长）的模式
+         */
+        private String match(String path, AntPathMatcher matcher) {
+            String permission = exact.get(path);
+            if (permission != null) {
+                return permission;
+            }
+            Candidate best = match(root, path, matcher, null);
+            Node node = root;
+            for (String segment : segments(path)) {
+                node = node.children.get(segment);
+                if (node == null) {
+                    break;
+                }
+                best = match(node, path, matcher, best);
+            }
+            return best != null ? best.permission().getPermission() : null;
+        }
+
+        private Candidate match(Node node, String path, AntPathMatcher matcher, Candidate best) {
+            for (Candidate candidate : node.candidates) {
+                if (best != null && candidate.rank() > best.rank()) {
+                    // 节点内按排序递增，之后的模式不会优于已命中的模式
+                    return best;
+                }
+                if (matcher.match(candidate.permission().getPattern(), path)) {
+                    return candidate;
+                }
+            }
+            return best;
+        }
+    }
+
+    private static final class Node {
+
+        private final Map<String, Node> children = new HashMap<>();
+
+        private final List<Candidate> candidates = new ArrayList<>();
+    }
+
+    /**
+     * @param rank 在全部模式中的排序位置，越小越具体
+     */
+    private record Candidate(int rank, RoutePermission permission) {
+    }
+}
@@ -0,0 +1,63 @@
+package com.corki.common.auth;
+
+import cn.dev33.satoken.same.SaSameUtil;
+import cn.dev33.satoken.util.SaResult;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+
+/**
+ * 内部服务 Same-Token 校验过滤器
+ * 校验失败时按最小间隔重新加载一次（已有加载在进行时等待其完成）后再判断，仍失败则拒绝并计数 internal.call.rejected。
+ * 校验失败时按最小间隔重新加载一次后再判断，仍失败则拒绝并计数 internal.call.rejected。
+ *
+ * @author Corki
+ * @since 2026-10-17
+ */
+@Slf4j
+public class SameTokenFilter extends OncePerRequestFilter {
+
+    private final SameTokenHolder sameTokenHolder;
+
+    private final Set<String> excludePaths;
+
+    private final Counter rejectedCounter;
+
+    public SameTokenFilter(SameTokenHolder sameTokenHolder, Set<String> excludePaths, MeterRegistry registry) {
+        this.sameTokenHolder = sameTokenHolder;
+        this.excludePaths = excludePaths;
+        this.rejectedCounter = Counter.builder("internal.call.rejected")
+                .description("Same-Token 校验失败的内部调用次数")
+                .register(registry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return excludePaths.contains(request.getRequestURI());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String token = request.getHeader(SaSameUtil.SAME_TOKEN);
+        if (sameTokenHolder.isValid(token) || (sameTokenHolder.reloadOnMiss() && sameTokenHolder.isValid(token))) {
+            chain.doFilter(request, response);
+            return;
+        }
+        rejectedCounter.increment();
+        log.warn("无效Same-Token, uri: {}, remote: {}", request.getRequestURI(), request.getRemoteAddr());
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write(SaResult.error("无效Same-Token").toString());
+    }
+}
@@ -0,0 +1,228 @@
+package com.corki.common.auth;
+
+import cn.dev33.satoken.same.SaSameUtil;
+import com.corki.common.utils.RedissonUtil;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Same-Token 本地持有者
+ * 当前 token 与上一个 token 保存在内存中，网关转发、Feign 调用与服务端校验都从这里读取，不再每次访问 Redis。
+ * 每隔 rotateSeconds 由一个节点调用 {@link SaSameUtil#refreshToken()} 轮换，旧 token 作为 past token 继续有效，
+ * 轮换后通过 Topic 通知所有节点重新加载；另每隔 reloadSeconds 全量加载一次，弥补丢失的通知。
+ * 发现轮换后的 switchDelayMillis 内，调用方仍发送上一个 token（各节点都认可），留出通知到达其他节点的时间；
+ * 校验失败时等待同一次重新加载完成后再比较，重新加载期间到达的请求不会被直接拒绝。
+ * 校验使用常量时间比较，且总是同时比较当前与上一个 token，响应时间不随匹配位置变化。
+ *
+ * @author Corki
+ * @since 2026-10-17
+ */
+@Slf4j
+@Component
+public class SameTokenHolder {
+
+    /**
+     * 轮换通知 Topic
+     */
+    public static final String REFRESH_TOPIC = "auth:same-token:refresh";
+
+    /**
+     * 轮换互斥 key，保证每个周期只有一个节点执行轮换
+     */
+    private static final String ROTATE_GUARD_KEY = "auth:same-token:rotating";
+
+    @Resource
+    private RedissonUtil redissonUtil;
+
+    /**
+     * 轮换间隔（秒），须小于 sa-token.same-token-timeout，0 表示不主动轮换
+     */
+    @Value("${same-token.rotateSeconds:3600}")
+    private long rotateSeconds;
+
+    @Value("${same-token.reloadSeconds:300}")
+    private long reloadSeconds;
+
+    /**
+     * 校验失败触发重新加载的最小间隔（毫秒）
+     */
+    @Value("${same-token.missReloadIntervalMillis:1000}")
+    private long missReloadIntervalMillis;
+
+    /**
+     * 发现轮换后继续发送上一个 token 的时长（毫秒）
+     */
+    @Value("${same-token.switchDelayMillis:10000}")
+    private long switchDelayMillis;
+
+    private volatile Tokens tokens = Tokens.of(null, null, 0);
+
+    /**
+     * 最近一次校验失败触发的重新加载的完成时间
+     */
+    private volatile long lastMissReload;
+
+    /**
+     * 进行中的校验失败触发的重新加载，其他校验失败的请求等待其完成
+     */
+    private final AtomicReference<CompletableFuture<Void>> missReload = new AtomicReference<>();
+
+    private ScheduledExecutorService scheduler;
+
+    @PostConstruct
+    public void init() {
+        reload();
+        redissonUtil.subscribe(REFRESH_TOPIC, (channel, message) -> reload(), Long.class);
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "same-token-holder");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::reload, reloadSeconds, reloadSeconds, TimeUnit.SECONDS);
+        if (rotateSeconds > 0) {
+            scheduler.scheduleWithFixedDelay(this::rotate, rotateSeconds, rotateSeconds, TimeUnit.SECONDS);
+        }
+    }
+
+    @PreDestroy
+    public void destroy() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * 获取调用其他服务时发送的 Same-Token
+     * 刚发现轮换时返回上一个 token，其他节点可能尚未收到通知
+     *
+     * @return token 值
+     */
+    public String getToken() {
+        Tokens snapshot = tokens;
+        if (snapshot.current() == null) {
+            reload();
+            snapshot = tokens;
+        }
+        if (snapshot.past() != null && System.currentTimeMillis() < snapshot.switchAt()) {
+            return snapshot.past();
+        }
+        return snapshot.current();
+    }
+
+    /**
+     * 判断 token 是否为当前或上一个 Same-Token
+     *
+     * @param token token 值
+     * @return 是否有效
+     */
+    public boolean isValid(String token) {
+        if (token == null || token.isEmpty()) {
+            return false;
+        }
+        Tokens snapshot = tokens;
+        byte[] bytes = token.getBytes(StandardCharsets.UTF_8);
+        // 不短路，两次比较都执行
+        boolean current = snapshot.currentBytes() != null && MessageDigest.isEqual(bytes, snapshot.currentBytes());
+        boolean past = snapshot.pastBytes() != null && MessageDigest.isEqual(bytes, snapshot.pastBytes());
+        return current | past;
+    }
+
+    /**
+     * 校验失败时按最小间隔重新加载一次，处理轮换通知先到达调用方、后到达本节点的情况
+     * 已有重新加载在进行时等待其完成，不会因为没有抢到重新加载而直接失败
+     *
+     * @return 是否有重新加载完成，为 true 时调用方应重新校验
+     */
+    public boolean reloadOnMiss() {
+        CompletableFuture<Void> inFlight = missReload.get();
+        if (inFlight == null) {
+            if (System.currentTimeMillis() - lastMissReload < missReloadIntervalMillis) {
+                return false;
+            }
+            CompletableFuture<Void> created = new CompletableFuture<>();
+            if (missReload.compareAndSet(null, created)) {
+                try {
+                    reload();
+                } finally {
+                    lastMissReload = System.currentTimeMillis();
+                    missReload.set(null);
+                    created.complete(null);
+                }
+                return true;
+            }
+            inFlight = missReload.get();
+            if (inFlight == null) {
+                // 另一个请求刚完成重新加载
+                return true;
+            }
+        }
+        inFlight.join();
+        return true;
+    }
+
+    /**
+     * 从 Redis 重新加载当前与上一个 token，当前 token 不存在时由 Sa-Token 生成
+     */
+    public void reload() {
+        try {
+            String current = SaSameUtil.getToken();
+            String past = SaSameUtil.getPastTokenNh();
+            Tokens previous = tokens;
+            if (!Objects.equals(current, previous.current()) || !Objects.equals(past, previous.past())) {
+                // 启动后首次加载直接使用当前 token，之后发现轮换时延迟切换
+                long switchAt = previous.current() != null && !Objects.equals(current, previous.current())
+                        ? System.currentTimeMillis() + switchDelayMillis
+                        : previous.switchAt();
+                tokens = Tokens.of(current, past, switchAt);
+                log.info("Same-Token 已更新");
+            }
+        } catch (Exception e) {
+            // 保留内存中的 token，下次定时任务或通知时再加载
+            log.warn("加载 Same-Token 失败", e);
+        }
+    }
+
+    private void rotate() {
+        try {
+            // 互斥 key 的有效期略短于轮换间隔，各节点定时任务存在偏差时同一周期也只轮换一次
+            Duration guard = Duration.ofSeconds(Math.max(1, rotateSeconds - Math.min(60, rotateSeconds / 2)));
+            if (!redissonUtil.getRedissonClient().getBucket(ROTATE_GUARD_KEY).setIfAbsent(1, guard)) {
+                return;
+            }
+            SaSameUtil.refreshToken();
+            reload();
+            redissonUtil.publish(REFRESH_TOPIC, System.currentTimeMillis());
+            log.info("Same-Token 已轮换");
+        } catch (Exception e) {
+            log.warn("轮换 Same-Token 失败", e);
+        }
+    }
+
+    /**
+     * 当前与上一个 token，附带预先编码的字节用于比较；switchAt 之前发送上一个 token
+     */
+    private record Tokens(String current, String past, byte[] currentBytes, byte[] pastBytes, long switchAt) {
+
+        private static Tokens of(String current, String past, long switchAt) {
+            return new Tokens(current, past, bytes(current), bytes(past), switchAt);
+        }
+
+        private static byte[] bytes(String token) {
+            return token == null || token.isEmpty() ? null : token.getBytes(StandardCharsets.UTF_8);
+        }
+    }
+}
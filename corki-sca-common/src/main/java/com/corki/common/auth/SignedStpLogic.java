@@ -0,0 +1,35 @@
+package com.corki.common.auth;
+
+import cn.dev33.satoken.stp.StpLogic;
+import cn.hutool.core.util.RandomUtil;
+
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * 签发无状态 token 的 StpLogic
+ * 登录流程与会话存储不变（各服务仍可按 token 读取 Redis 中的会话），
+ * 只是 token 本身携带 loginId、设备与权限版本号并经过签名，网关可不访问 Redis 直接校验。
+ *
+ * @author Corki
+ * @since 2026-10-17
+ */
+public class SignedStpLogic extends StpLogic {
+
+    private final SignedTokenCodec codec;
+
+    private final LongSupplier permVersionSupplier;
+
+    public SignedStpLogic(String loginType, SignedTokenCodec codec, LongSupplier permVersionSupplier) {
+        super(loginType);
+        this.codec = codec;
+        this.permVersionSupplier = permVersionSupplier;
+    }
+
+    @Override
+    public String createTokenValue(Object loginId, String device, long timeout, Map<String, Object> extraData) {
+        long expireAt = timeout > 0 ? System.currentTimeMillis() / 1000 + timeout : 0;
+        return codec.sign(new SignedToken(getLoginType(), String.valueOf(loginId), device,
+                permVersionSupplier.getAsLong(), expireAt, RandomUtil.randomString(12)));
+    }
+}
@@ -0,0 +1,48 @@
+package com.corki.common.auth;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 无状态 token 载荷
+ *
+ * @author Corki
+ * @since 2026-10-17
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SignedToken {
+
+    /**
+     * 账号类型
+     */
+    private String loginType;
+
+    /**
+     * 账号ID
+     */
+    private String loginId;
+
+    /**
+     * 登录设备
+     */
+    private String device;
+
+    /**
+     * 签发时的权限版本号，见 AuthCacheManager#getVersion，仅用于排查问题，不参与认证；
+     * 该版本全局递增，任一菜单或角色变更都会使其变化，不能据此判断单个账号是否需要重新认证
+     */
+    private long permVersion;
+
+    /**
+     * 过期时间（秒级时间戳），0 表示永不过期
+     */
+    private long expireAt;
+
+    /**
+     * 随机串，保证同一账号多次登录的 token 不同
+     */
+    private String nonce;
+}
@@ -0,0 +1,149 @@
+package com.corki.common.auth;
+
+import cn.hutool.core.util.StrUtil;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Base64;
+
+/**
+ * 无状态 token 编解码
+ * 格式：st1.base64url(载荷).base64url(HmacSHA256 签名)，载荷字段以 | 分隔，设备放在最后。
+ * 校验只做签名与过期判断，纯 CPU 计算，不访问 Redis。
+ *
+ * @author Corki
+ * @since 2026-10-17
+ */
+@Slf4j
+@Component
+public class SignedTokenCodec {
+
+    /**
+     * 无状态 token 前缀，用于与 uuid 风格的 token 区分
+     */
+    public static final String PREFIX = "st1.";
+
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private static final String SEPARATOR = "|";
+
+    private static final int FIELD_COUNT = 6;
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    /**
+     * 签名密钥，为空时不启用无状态 token
+     */
+    @Value("${auth.stateless.secret:}")
+    private String secret;
+
+    private SecretKeySpec secretKey;
+
+    /**
+     * Mac 非线程安全，每个线程复用一个实例
+     */
+    private final ThreadLocal<Mac> macs = ThreadLocal.withInitial(this::newMac);
+
+    @PostConstruct
+    public void init() {
+        if (StrUtil.isNotBlank(secret)) {
+            secretKey = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM);
+        }
+    }
+
+    /**
+     * 是否已配置密钥
+     *
+     * @return 是否启用
+     */
+    public boolean isEnabled() {
+        return secretKey != null;
+    }
+
+    /**
+     * 判断 token 是否为无状态 token
+     *
+     * @param token token 值
+     * @return 是否带有无状态 token 前缀
+     */
+    public static boolean isSigned(String token) {
+        return token != null && token.startsWith(PREFIX);
+    }
+
+    /**
+     * 签发 token
+     *
+     * @param token 载荷
+     * @return token 值
+     */
+    public String sign(SignedToken token) {
+        String payload = String.join(SEPARATOR, token.getLoginType(), token.getLoginId(),
+                String.valueOf(token.getPermVersion()), String.valueOf(token.getExpireAt()),
+                token.getNonce(), StrUtil.nullToEmpty(token.getDevice()));
+        String content = PREFIX + ENCODER.encodeToString(payload.getBytes(StandardCharsets.UTF_8));
+        return content + "." + ENCODER.encodeToString(mac(content));
+    }
+
+    /**
+     * 校验签名与过期时间
+     *
+     * @param token token 值
+     * @return 载荷，格式错误、签名不符或已过期时返回 null
+     */
+    public SignedToken verify(String token) {
+        if (!isEnabled() || !isSigned(token)) {
+            return null;
+        }
+        int dot = token.lastIndexOf('.');
+        if (dot <= PREFIX.length()) {
+            return null;
+        }
+        String content = token.substring(0, dot);
+        try {
+            byte[] signature = DECODER.decode(token.substring(dot + 1));
+            // 常量时间比较，避免通过响应时间逐字节猜测签名
+            if (!MessageDigest.isEqual(signature, mac(content))) {
+                return null;
+            }
+            String payload = new String(DECODER.decode(content.substring(PREFIX.length())), StandardCharsets.UTF_8);
+            String[] fields = payload.split("\\|", FIELD_COUNT);
+            if (fields.length != FIELD_COUNT) {
+                return null;
+            }
+            long expireAt = Long.parseLong(fields[3]);
+            if (expireAt > 0 && expireAt <= System.currentTimeMillis() / 1000) {
+                return null;
+            }
+            return new SignedToken(fields[0], fields[1], fields[5], Long.parseLong(fields[2]), expireAt, fields[4]);
+        } catch (IllegalArgumentException e) {
+            log.debug("无状态 token 格式错误: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private byte[] mac(String content) {
+        if (!isEnabled()) {
+            throw new IllegalStateException("未配置 auth.stateless.secret");
+        }
+        return macs.get().doFinal(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(secretKey);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("初始化 " + ALGORITHM + " 失败", e);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.corki.common.auth;
+
+import cn.hutool.core.util.StrUtil;
+import com.corki.common.cache.AuthCacheManager;
+import com.corki.common.enums.LoginUserTypeEnum;
+import com.corki.common.utils.StpAdminUtil;
+import com.corki.common.utils.StpMemberUtil;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 无状态 token 配置
+ * auth.stateless.types 列出启用无状态 token 的账号类型（admin、member，逗号分隔），
+ * 对应账号体系替换为 {@link SignedStpLogic}，签发的 token 可由网关离线校验。
+ * 所有服务（包括网关）的 auth.stateless.secret 必须一致。
+ *
+ * @author Corki
+ * @since 2026-10-17
+ */
+@Slf4j
+@Configuration
+public class SignedTokenConfigure {
+
+    @Value("${auth.stateless.types:}")
+    private String types;
+
+    @Resource
+    private SignedTokenCodec signedTokenCodec;
+
+    @Resource
+    private AuthCacheManager authCacheManager;
+
+    @PostConstruct
+    public void init() {
+        if (StrUtil.isBlank(types)) {
+            return;
+        }
+        if (!signedTokenCodec.isEnabled()) {
+            throw new IllegalStateException("开启无状态 token 时必须配置 auth.stateless.secret");
+        }
+        for (String type : StrUtil.splitTrim(types, ",")) {
+            if (LoginUserTypeEnum.ADMIN.getUserType().equals(type)) {
+                StpAdminUtil.setStpLogic(new SignedStpLogic(StpAdminUtil.TYPE, signedTokenCodec, authCacheManager::getVersion));
+            } else if (LoginUserTypeEnum.MEMBER.getUserType().equals(type)) {
+                StpMemberUtil.setStpLogic(new SignedStpLogic(StpMemberUtil.TYPE, signedTokenCodec, authCacheManager::getVersion));
+            } else {
+                throw new IllegalArgumentException("不支持的无状态 token 账号类型: " + type);
+            }
+            log.info("账号类型 {} 启用无状态 token", type);
+        }
+    }
+}
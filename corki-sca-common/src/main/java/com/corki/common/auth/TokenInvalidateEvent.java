@@ -0,0 +1,43 @@
+package com.corki.common.auth;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+/**
+ * token 失效消息，注销、踢人下线、顶人下线时广播，网关据此清除本地 token 缓存
+ *
+ * @author Corki
+ * @since 2026-10-17
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TokenInvalidateEvent implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 失效消息 Topic
+     */
+    public static final String TOPIC = "auth:token:invalidate";
+
+    /**
+     * 账号类型
+     */
+    private String loginType;
+
+    /**
+     * 账号ID
+     */
+    private String loginId;
+
+    /**
+     * token 值
+     */
+    private String tokenValue;
+}
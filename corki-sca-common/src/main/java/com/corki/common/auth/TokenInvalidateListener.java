@@ -0,0 +1,58 @@
+package com.corki.common.auth;
+
+import cn.dev33.satoken.listener.SaTokenListenerForSimple;
+import com.corki.common.utils.RedissonUtil;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * Sa-Token 事件监听：token 注销、被踢下线、被顶下线时广播 {@link TokenInvalidateEvent}
+ * 由 Sa-Token 自动注册，各服务中的注销操作都会通知到网关；无状态 token 同时写入吊销布隆过滤器
+ *
+ * @author Corki
+ * @since 2026-10-17
+ */
+@Slf4j
+@Component
+public class TokenInvalidateListener extends SaTokenListenerForSimple {
+
+    @Resource
+    private RedissonUtil redissonUtil;
+
+    @Resource
+    private TokenRevocationFilter tokenRevocationFilter;
+
+    @Override
+    public void doLogout(String loginType, Object loginId, String tokenValue) {
+        publish(loginType, loginId, tokenValue);
+    }
+
+    @Override
+    public void doKickout(String loginType, Object loginId, String tokenValue) {
+        publish(loginType, loginId, tokenValue);
+    }
+
+    @Override
+    public void doReplaced(String loginType, Object loginId, String tokenValue) {
+        publish(loginType, loginId, tokenValue);
+    }
+
+    private void publish(String loginType, Object loginId, String tokenValue) {
+        // 先写入吊销列表再广播，其他节点收到消息时 Redis 中已有记录
+        if (SignedTokenCodec.isSigned(tokenValue)) {
+            try {
+                tokenRevocationFilter.revoke(tokenValue);
+            } catch (Exception e) {
+                log.warn("写入token吊销列表失败，loginType: {}, loginId: {}", loginType, loginId, e);
+            }
+        }
+        try {
+            redissonUtil.publish(TokenInvalidateEvent.TOPIC,
+                    new TokenInvalidateEvent(loginType, String.valueOf(loginId), tokenValue));
+        } catch (Exception e) {
+            // 广播失败时网关本地缓存会在过期后自然失效
+            log.warn("广播token失效消息失败，loginType: {}, loginId: {}", loginType, loginId, e);
+        }
+    }
+}
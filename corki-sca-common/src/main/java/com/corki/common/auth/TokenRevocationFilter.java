@@ -0,0 +1,195 @@
+package com.corki.common.auth;
+
+import cn.hutool.core.lang.hash.MurmurHash;
+import com.corki.common.utils.RedissonUtil;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RBitSet;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 无状态 token 吊销布隆过滤器
+ * 按 token 过期日分代，每代一个 Redis bitmap（auth:token:revoked:{epochDay}），随该代 token 过期自动删除。
+ * 各节点在本地保存 bitmap 副本：启动时及每隔 resyncSeconds 从 Redis 全量合并，
+ * 平时通过 {@link TokenInvalidateEvent} 增量更新，因此 {@link #mightBeRevoked} 不访问 Redis。
+ * 布隆过滤器存在误判，命中时调用方应回退到 Redis 会话校验，而不是直接拒绝。
+ *
+ * @author Corki
+ * @since 2026-10-17
+ */
+@Slf4j
+@Component
+public class TokenRevocationFilter {
+
+    private static final String KEY_PREFIX = "auth:token:revoked:";
+
+    private static final long SECONDS_PER_DAY = 86400;
+
+    /**
+     * 永不过期 token 所在的代
+     */
+    private static final long PERMANENT_GENERATION = 0;
+
+    @Resource
+    private RedissonUtil redissonUtil;
+
+    @Resource
+    private SignedTokenCodec signedTokenCodec;
+
+    /**
+     * 每代 bitmap 位数，默认 1M 位（128KB），约可容纳 10 万个 token 且误判率约 1%
+     */
+    @Value("${auth.stateless.revocation.bits:1048576}")
+    private int bits;
+
+    @Value("${auth.stateless.revocation.hashes:7}")
+    private int hashes;
+
+    @Value("${auth.stateless.revocation.resyncSeconds:60}")
+    private long resyncSeconds;
+
+    private final Map<Long, AtomicLongArray> generations = new ConcurrentHashMap<>();
+
+    private ScheduledExecutorService resyncExecutor;
+
+    @PostConstruct
+    public void init() {
+        if (!signedTokenCodec.isEnabled()) {
+            return;
+        }
+        redissonUtil.subscribe(TokenInvalidateEvent.TOPIC, (channel, event) -> {
+            SignedToken token = signedTokenCodec.verify(event.getTokenValue());
+            if (token != null) {
+                apply(generation(token), indexes(event.getTokenValue()));
+            }
+        }, TokenInvalidateEvent.class);
+        resyncExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "token-revocation-resync");
+            thread.setDaemon(true);
+            return thread;
+        });
+        resyncExecutor.scheduleWithFixedDelay(this::resync, 0, resyncSeconds, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    public void destroy() {
+        if (resyncExecutor != null) {
+            resyncExecutor.shutdownNow();
+        }
+    }
+
+    /**
+     * 吊销 token：写入 Redis bitmap 并更新本地副本，其他节点通过 token 失效消息同步
+     *
+     * @param tokenValue token 值
+     */
+    public void revoke(String tokenValue) {
+        SignedToken token = signedTokenCodec.verify(tokenValue);
+        if (token == null) {
+            // 非无状态 token 或已过期，无需记录
+            return;
+        }
+        long generation = generation(token);
+        long[] indexes = indexes(tokenValue);
+        RBitSet bitSet = redissonUtil.getBitSet(KEY_PREFIX + generation);
+        bitSet.set(indexes, true);
+        if (generation != PERMANENT_GENERATION) {
+            bitSet.expire(Instant.ofEpochSecond((generation + 1) * SECONDS_PER_DAY));
+        }
+        apply(generation, indexes);
+    }
+
+    /**
+     * 判断 token 是否可能已被吊销，只读本地副本
+     *
+     * @param tokenValue token 值
+     * @param token      已校验的载荷
+     * @return false 表示一定未被吊销；true 表示可能已被吊销
+     */
+    public boolean mightBeRevoked(String tokenValue, SignedToken token) {
+        AtomicLongArray words = generations.get(generation(token));
+        if (words == null) {
+            return false;
+        }
+        for (long index : indexes(tokenValue)) {
+            if ((words.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private long generation(SignedToken token) {
+        return token.getExpireAt() > 0 ? token.getExpireAt() / SECONDS_PER_DAY : PERMANENT_GENERATION;
+    }
+
+    /**
+     * 双重哈希计算 bit 下标：h1 + i * h2
+     */
+    private long[] indexes(String tokenValue) {
+        long[] hash = MurmurHash.hash128(tokenValue.getBytes(StandardCharsets.UTF_8));
+        long[] indexes = new long[hashes];
+        for (int i = 0; i < hashes; i++) {
+            indexes[i] = Math.floorMod(hash[0] + i * hash[1], (long) bits);
+        }
+        return indexes;
+    }
+
+    private void apply(long generation, long[] indexes) {
+        AtomicLongArray words = words(generation);
+        for (long index : indexes) {
+            int word = (int) (index >>> 6);
+            long mask = 1L << index;
+            words.getAndAccumulate(word, mask, (current, m) -> current | m);
+        }
+    }
+
+    private AtomicLongArray words(long generation) {
+        return generations.computeIfAbsent(generation, g -> new AtomicLongArray((bits + 63) >>> 6));
+    }
+
+    /**
+     * 从 Redis 合并所有代的 bitmap，并丢弃已整体过期的本地代
+     */
+    private void resync() {
+        try {
+            long today = System.currentTimeMillis() / 1000 / SECONDS_PER_DAY;
+            generations.keySet().removeIf(g -> g != PERMANENT_GENERATION && g < today);
+            for (String key : redissonUtil.getRedissonClient().getKeys().getKeysByPattern(KEY_PREFIX + "*")) {
+                long generation = Long.parseLong(key.substring(KEY_PREFIX.length()));
+                merge(words(generation), redissonUtil.getBitSet(key).toByteArray());
+            }
+        } catch (Exception e) {
+            log.warn("同步token吊销列表失败", e);
+        }
+    }
+
+    /**
+     * Redis bitmap 每个字节内高位在前，第 i 位位于 bytes[i / 8] 的 (7 - i % 8) 位
+     */
+    private void merge(AtomicLongArray words, byte[] bytes) {
+        int limit = Math.min(bytes.length, (bits + 7) >>> 3);
+        for (int i = 0; i < limit; i++) {
+            int b = bytes[i] & 0xFF;
+            for (int bit = 0; b != 0 && bit < 8; bit++) {
+                if ((b & (0x80 >>> bit)) != 0) {
+                    long index = ((long) i << 3) + bit;
+                    long mask = 1L << index;
+                    words.getAndAccumulate((int) (index >>> 6), mask, (current, m) -> current | m);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.corki.common.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * 权限/角色缓存条目，携带写入时的权限版本号
+ *
+ * @author Corki
+ * @since 2026-10-17
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuthCacheEntry implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 写入时的权限版本号，与当前版本不一致即视为失效
+     */
+    private long version;
+
+    /**
+     * 权限码或角色标识列表
+     */
+    private List<String> values;
+}
@@ -0,0 +1,38 @@
+package com.corki.common.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+/**
+ * 权限缓存失效消息，通过 Redisson Topic 广播到所有节点
+ *
+ * @author Corki
+ * @since 2026-10-17
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuthCacheEvent implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 最新的权限版本号
+     */
+    private long version;
+
+    /**
+     * 账号类型，为空表示全部账号
+     */
+    private String loginType;
+
+    /**
+     * 账号ID，为空表示该类型下全部账号
+     */
+    private String loginId;
+}
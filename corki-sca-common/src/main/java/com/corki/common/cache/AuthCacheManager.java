@@ -0,0 +1,330 @@
+package com.corki.common.cache;
+
+import com.corki.common.auth.CompiledPermissionList;
+import com.corki.common.utils.RedissonUtil;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RAtomicLong;
+import org.redisson.api.RBucket;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * 权限/角色两级缓存
+ * 一级为进程内 Caffeine，二级为 Redis，按 loginType + loginId 存储带版本号的条目。
+ * role_menu、menu 变更时递增全局版本号并通过 Topic 广播，各节点据此丢弃本地旧条目；
+ * user_role 变更只递增该账号的代数（generation）并删除其条目，加载前后代数不一致说明加载期间发生了变更，
+ * 写回的可能是旧数据，删除后重新加载。
+ * 本地条目保存的是 {@link CompiledPermissionList}，权限匹配无需再逐个扫描列表。
+ *
+ * @author Corki
+ * @since 2026-10-17
+ */
+@Slf4j
+@Component
+public class AuthCacheManager {
+
+    /**
+     * 全局权限版本号
+     */
+    private static final String VERSION_KEY = "auth:cache:version";
+
+    /**
+     * 失效消息 Topic
+     */
+    private static final String INVALIDATE_TOPIC = "auth:cache:invalidate";
+
+    /**
+     * Redis 缓存 key 前缀
+     */
+    private static final String CACHE_KEY_PREFIX = "auth:cache:";
+
+    /**
+     * 账号代数 key 前缀
+     */
+    private static final String GENERATION_KEY_PREFIX = "auth:cache:gen:";
+
+    /**
+     * 加载期间发生变更时的最大加载次数
+     */
+    private static final int MAX_LOAD_ATTEMPTS = 3;
+
+    private static final String KIND_PERMISSION = "perm";
+
+    private static final String KIND_ROLE = "role";
+
+    @Resource
+    private RedissonUtil redissonUtil;
+
+    @Value("${auth.cache.localMaximumSize:10000}")
+    private long localMaximumSize;
+
+    @Value("${auth.cache.expireSeconds:1800}")
+    private long expireSeconds;
+
+    /**
+     * 本节点已知的最新版本号，由 Topic 消息推进，读路径不访问 Redis
+     */
+    private final AtomicLong currentVersion = new AtomicLong();
+
+    private Cache<String, AuthCacheEntry> localCache;
+
+    @PostConstruct
+    public void init() {
+        localCache = Caffeine.newBuilder()
+                .maximumSize(localMaximumSize)
+                .expireAfterWrite(Duration.ofSeconds(expireSeconds))
+                .build();
+        currentVersion.set(redissonUtil.getAtomicLong(VERSION_KEY).get());
+        redissonUtil.subscribe(INVALIDATE_TOPIC, (channel, event) -> onInvalidate(event), AuthCacheEvent.class);
+    }
+
+    /**
+     * 获取账号权限码列表
+     *
+     * @param loginType 账号类型
+     * @param loginId   账号ID
+     * @param loader    缓存未命中时的加载方法
+     * @return 权限码列表
+     */
+    public List<String> getPermissions(String loginType, Object loginId, Supplier<List<String>> loader) {
+        return get(KIND_PERMISSION, loginType, loginId, loader);
+    }
+
+    /**
+     * 获取账号角色标识列表
+     *
+     * @param loginType 账号类型
+     * @param loginId   账号ID
+     * @param loader    缓存未命中时的加载方法
+     * @return 角色标识列表
+     */
+    public List<String> getRoles(String loginType, Object loginId, Supplier<List<String>> loader) {
+        return get(KIND_ROLE, loginType, loginId, loader);
+    }
+
+    /**
+     * 只读本地缓存的权限码列表，不访问 Redis，可在事件循环线程调用
+     *
+     * @param loginType 账号类型
+     * @param loginId   账号ID
+     * @return 权限码列表，本地未命中或版本过期时返回 null
+     */
+    public CompiledPermissionList getLocalPermissions(String loginType, Object loginId) {
+        return getLocal(KIND_PERMISSION, loginType, loginId);
+    }
+
+    /**
+     * 读取已缓存的权限码列表（本地 + Redis），未缓存时不加载
+     * 供无法访问权限数据源的节点（如网关）使用
+     *
+     * @param loginType 账号类型
+     * @param loginId   账号ID
+     * @return 权限码列表，两级缓存均未命中时返回 null
+     */
+    public CompiledPermissionList getCachedPermissions(String loginType, Object loginId) {
+        return getCached(KIND_PERMISSION, loginType, loginId);
+    }
+
+    /**
+     * 只读本地缓存的角色标识列表，不访问 Redis
+     *
+     * @param loginType 账号类型
+     * @param loginId   账号ID
+     * @return 角色标识列表，本地未命中或版本过期时返回 null
+     */
+    public CompiledPermissionList getLocalRoles(String loginType, Object loginId) {
+        return getLocal(KIND_ROLE, loginType, loginId);
+    }
+
+    /**
+     * 读取已缓存的角色标识列表（本地 + Redis），未缓存时不加载
+     *
+     * @param loginType 账号类型
+     * @param loginId   账号ID
+     * @return 角色标识列表，两级缓存均未命中时返回 null
+     */
+    public CompiledPermissionList getCachedRoles(String loginType, Object loginId) {
+        return getCached(KIND_ROLE, loginType, loginId);
+    }
+
+    /**
+     * 获取当前权限版本号
+     *
+     * @return 版本号
+     */
+    public long getVersion() {
+        return currentVersion.get();
+    }
+
+    /**
+     * 使所有账号的权限缓存失效（菜单、角色菜单变更）
+     * 存在事务时在提交后执行，避免其他节点在提交前重新加载到旧数据
+     */
+    public void invalidateAll() {
+        afterCommit(() -> {
+            long version = redissonUtil.getAtomicLong(VERSION_KEY).incrementAndGet();
+            redissonUtil.publish(INVALIDATE_TOPIC, new AuthCacheEvent(version, null, null));
+            log.info("权限缓存全部失效，version: {}", version);
+        });
+    }
+
+    /**
+     * 使指定账号的权限缓存失效（用户角色变更）
+     *
+     * @param loginType 账号类型
+     * @param loginId   账号ID
+     */
+    public void invalidate(String loginType, Object loginId) {
+        afterCommit(() -> {
+            String id = String.valueOf(loginId);
+            // 先递增代数再删除，正在加载的请求要么读到新数据，要么在写回后发现代数变化并删除
+            RAtomicLong generation = redissonUtil.getAtomicLong(generationKey(loginType, id));
+            generation.incrementAndGet();
+            generation.expire(Duration.ofSeconds(expireSeconds));
+            redissonUtil.getRedissonClient().getKeys().delete(
+                    redisKey(KIND_PERMISSION, loginType, id), redisKey(KIND_ROLE, loginType, id));
+            redissonUtil.publish(INVALIDATE_TOPIC, new AuthCacheEvent(currentVersion.get(), loginType, id));
+            log.info("权限缓存失效，loginType: {}, loginId: {}", loginType, id);
+        });
+    }
+
+    private List<String> get(String kind, String loginType, Object loginId, Supplier<List<String>> loader) {
+        String key = localKey(kind, loginType, String.valueOf(loginId));
+        // 先取版本号再加载，加载期间若发生变更，写入的条目版本落后会在下次读取时被丢弃
+        long version = currentVersion.get();
+
+        AuthCacheEntry entry = localCache.getIfPresent(key);
+        if (entry != null && entry.getVersion() == version) {
+            return entry.getValues();
+        }
+
+        RBucket<AuthCacheEntry> bucket = redissonUtil.getRedissonClient().getBucket(CACHE_KEY_PREFIX + key);
+        try {
+            entry = bucket.get();
+        } catch (Exception e) {
+            log.warn("读取权限缓存失败，key: {}", key, e);
+            entry = null;
+        }
+        if (entry == null || entry.getVersion() != version) {
+            entry = load(bucket, generationKey(loginType, String.valueOf(loginId)), version, loader, key);
+        }
+        // Redis 中保存原始列表，本地保存预编译后的列表
+        CompiledPermissionList compiled = new CompiledPermissionList(entry.getValues());
+        localCache.put(key, new AuthCacheEntry(entry.getVersion(), compiled));
+        return compiled;
+    }
+
+    /**
+     * 查库并写回 Redis，写回后代数变化则删除并重新加载
+     */
+    private AuthCacheEntry load(RBucket<AuthCacheEntry> bucket, String generationKey, long version,
+                                Supplier<List<String>> loader, String key) {
+        RAtomicLong generation = redissonUtil.getAtomicLong(generationKey);
+        long before;
+        try {
+            before = generation.get();
+        } catch (Exception e) {
+            log.warn("读取权限缓存代数失败，不写回，key: {}", key, e);
+            return newEntry(version, loader);
+        }
+        for (int attempt = 1; ; attempt++) {
+            AuthCacheEntry entry = newEntry(version, loader);
+            try {
+                bucket.set(entry, Duration.ofSeconds(expireSeconds));
+                long after = generation.get();
+                if (after == before || attempt >= MAX_LOAD_ATTEMPTS) {
+                    return entry;
+                }
+                // 加载期间角色发生变更，刚写回的可能是旧数据
+                bucket.delete();
+                before = after;
+            } catch (Exception e) {
+                log.warn("写入权限缓存失败，key: {}", key, e);
+                return entry;
+            }
+        }
+    }
+
+    private AuthCacheEntry newEntry(long version, Supplier<List<String>> loader) {
+        List<String> values = loader.get();
+        return new AuthCacheEntry(version, values == null ? new ArrayList<>() : new ArrayList<>(values));
+    }
+
+    private CompiledPermissionList getLocal(String kind, String loginType, Object loginId) {
+        AuthCacheEntry entry = localCache.getIfPresent(localKey(kind, loginType, String.valueOf(loginId)));
+        if (entry != null && entry.getVersion() == currentVersion.get()
+                && entry.getValues() instanceof CompiledPermissionList compiled) {
+            return compiled;
+        }
+        return null;
+    }
+
+    private CompiledPermissionList getCached(String kind, String loginType, Object loginId) {
+        CompiledPermissionList local = getLocal(kind, loginType, loginId);
+        if (local != null) {
+            return local;
+        }
+        String key = localKey(kind, loginType, String.valueOf(loginId));
+        long version = currentVersion.get();
+        AuthCacheEntry entry;
+        try {
+            entry = redissonUtil.getRedissonClient().<AuthCacheEntry>getBucket(CACHE_KEY_PREFIX + key).get();
+        } catch (Exception e) {
+            log.warn("读取权限缓存失败，key: {}", key, e);
+            return null;
+        }
+        if (entry == null || entry.getVersion() != version) {
+            return null;
+        }
+        CompiledPermissionList compiled = new CompiledPermissionList(entry.getValues());
+        localCache.put(key, new AuthCacheEntry(version, compiled));
+        return compiled;
+    }
+
+    private void onInvalidate(AuthCacheEvent event) {
+        currentVersion.accumulateAndGet(event.getVersion(), Math::max);
+        if (event.getLoginId() == null) {
+            localCache.invalidateAll();
+            return;
+        }
+        localCache.invalidate(localKey(KIND_PERMISSION, event.getLoginType(), event.getLoginId()));
+        localCache.invalidate(localKey(KIND_ROLE, event.getLoginType(), event.getLoginId()));
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private String localKey(String kind, String loginType, String loginId) {
+        return kind + ":" + loginType + ":" + loginId;
+    }
+
+    private String generationKey(String loginType, String loginId) {
+        return GENERATION_KEY_PREFIX + loginType + ":" + loginId;
+    }
+
+    private String redisKey(String kind, String loginType, String loginId) {
+        return CACHE_KEY_PREFIX + localKey(kind, loginType, loginId);
+    }
+}
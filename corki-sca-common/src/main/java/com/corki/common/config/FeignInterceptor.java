@@ -1,8 +1,10 @@
 package com.corki.common.config;
 
 import cn.dev33.satoken.same.SaSameUtil;
+import com.corki.common.auth.SameTokenHolder;
 import feign.RequestInterceptor;
 import feign.RequestTemplate;
+import jakarta.annotation.Resource;
 import org.springframework.stereotype.Component;
 
 /**
@@ -14,6 +16,9 @@ import org.springframework.stereotype.Component;
 @Component
 public class FeignInterceptor implements RequestInterceptor {
 
+    @Resource
+    private SameTokenHolder sameTokenHolder;
+
     /**
      * 为 Feign 的 RPC 调用 添加请求头Same-Token
      * 在调用的 FeignClient中引入该拦截器配置 configuration = FeignInterceptor.class
@@ -22,6 +27,6 @@ public class FeignInterceptor implements RequestInterceptor {
      */
     @Override
     public void apply(RequestTemplate requestTemplate) {
-        requestTemplate.header(SaSameUtil.SAME_TOKEN, SaSameUtil.getToken());
+        requestTemplate.header(SaSameUtil.SAME_TOKEN, sameTokenHolder.getToken());
     }
 }
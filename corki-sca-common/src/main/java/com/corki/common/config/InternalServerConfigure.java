@@ -1,30 +1,32 @@
 package com.corki.common.config;
 
-import cn.dev33.satoken.context.SaHolder;
-import cn.dev33.satoken.filter.SaServletFilter;
-import cn.dev33.satoken.same.SaSameUtil;
-import cn.dev33.satoken.util.SaResult;
+import com.corki.common.auth.SameTokenFilter;
+import com.corki.common.auth.SameTokenHolder;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+import java.util.Set;
+
 @Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class InternalServerConfigure implements WebMvcConfigurer {
 
-    // 注册 Sa-Token 全局过滤器
+    // 注册 Same-Token 校验过滤器，所有请求必须携带网关或 Feign 附加的 Same-Token
     @Bean
-    public SaServletFilter getSaServletFilter() {
-        return new SaServletFilter()
-                .addInclude("/**")
-                .addExclude("/favicon.ico")
-                .setAuth(obj -> {
-                    // 校验 Same-Token 身份凭证     —— 以下两句代码可简化为：SaSameUtil.checkCurrentRequestToken();
-                    String token = SaHolder.getRequest().getHeader(SaSameUtil.SAME_TOKEN);
-                    SaSameUtil.checkToken(token);
-                })
-                .setError(e -> {
-                    return SaResult.error(e.getMessage());
-                })
-                ;
+    public FilterRegistrationBean<SameTokenFilter> sameTokenFilter(SameTokenHolder sameTokenHolder,
+                                                                   ObjectProvider<MeterRegistry> registryProvider) {
+        SameTokenFilter filter = new SameTokenFilter(sameTokenHolder, Set.of("/favicon.ico"),
+                registryProvider.getIfAvailable(() -> Metrics.globalRegistry));
+        FilterRegistrationBean<SameTokenFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.addUrlPatterns("/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
     }
 }
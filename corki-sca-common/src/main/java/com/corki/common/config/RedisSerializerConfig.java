@@ -0,0 +1,90 @@
+package com.corki.common.config;
+
+import com.corki.common.enums.SerializerTypeEnum;
+import com.corki.common.serializer.CompressingRedisSerializer;
+import com.corki.common.serializer.KryoRedisSerializer;
+import com.corki.common.serializer.RedisSerializerCodec;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.client.codec.Codec;
+import org.redisson.codec.JsonJacksonCodec;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+
+import java.util.List;
+
+/**
+ * Redis 序列化配置
+ * RedisTemplate 与 Redisson 的值序列化方式统一由此处决定：
+ * <ul>
+ *     <li>redis.serializer.type：json（默认）/ kryo</li>
+ *     <li>redis.serializer.compressThreshold：序列化结果超过该字节数时 Deflate 压缩，小于等于 0 不压缩</li>
+ *     <li>redis.serializer.kryoAllowedPrefixes：kryo 额外允许反序列化的类名前缀，逗号分隔</li>
+ * </ul>
+ * json 且不压缩时 Redisson 保持原有的 JsonJacksonCodec，其余情况两端共用同一个序列化器；
+ * 两种 json 序列化都注册 JavaTimeModule，否则含 LocalDateTime 的缓存对象无法写入。
+ *
+ * @author Corki
+ * @since 2026-10-17
+ */
+@Slf4j
+@Configuration
+public class RedisSerializerConfig {
+
+    @Value("${redis.serializer.type:json}")
+    private String serializerType;
+
+    @Value("${redis.serializer.compressThreshold:0}")
+    private int compressThreshold;
+
+    @Value("${redis.serializer.kryoAllowedPrefixes:}")
+    private List<String> kryoAllowedPrefixes;
+
+    @Bean
+    public RedisSerializer<Object> redisValueSerializer() {
+        SerializerTypeEnum type = SerializerTypeEnum.of(serializerType);
+        RedisSerializer<Object> serializer = switch (type) {
+            case JSON -> new GenericJackson2JsonRedisSerializer().configure(mapper -> mapper
+                    .registerModule(new JavaTimeModule())
+                    .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false));
+            case KRYO -> new KryoRedisSerializer(kryoAllowedPrefixes);
+        };
+        if (compressThreshold > 0) {
+            serializer = new CompressingRedisSerializer(serializer, compressThreshold);
+        }
+        log.info("Redis 值序列化方式: {}, 压缩阈值: {}", type.getType(), compressThreshold);
+        return serializer;
+    }
+
+    @Bean
+    public Codec redissonCodec(RedisSerializer<Object> redisValueSerializer) {
+        if (SerializerTypeEnum.of(serializerType) == SerializerTypeEnum.JSON && compressThreshold <= 0) {
+            return new JsonJacksonCodec(new ObjectMapper().registerModule(new JavaTimeModule()));
+        }
+        return new RedisSerializerCodec(redisValueSerializer);
+    }
+
+    @Bean(name = "redisTemplate")
+    public RedisTemplate<String, Object> redisTemplate(RedisConnectionFactory redisConnectionFactory,
+                                                       RedisSerializer<Object> redisValueSerializer) {
+        RedisTemplate<String, Object> redisTemplate = new RedisTemplate<>();
+        redisTemplate.setConnectionFactory(redisConnectionFactory);
+
+        RedisSerializer<String> stringSerializer = new StringRedisSerializer();
+        // 设置key和value的序列化规则
+        redisTemplate.setKeySerializer(stringSerializer);
+        redisTemplate.setValueSerializer(redisValueSerializer);
+        redisTemplate.setHashKeySerializer(stringSerializer);
+        redisTemplate.setHashValueSerializer(redisValueSerializer);
+        redisTemplate.afterPropertiesSet();
+        return redisTemplate;
+    }
+}
@@ -1,19 +1,38 @@
 package com.corki.common.config;
 
+import cn.hutool.core.util.StrUtil;
 import org.redisson.Redisson;
 import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.Codec;
+import org.redisson.config.BaseConfig;
+import org.redisson.config.BaseMasterSlaveServersConfig;
+import org.redisson.config.ClusterServersConfig;
 import org.redisson.config.Config;
+import org.redisson.config.MasterSlaveServersConfig;
+import org.redisson.config.ReadMode;
+import org.redisson.config.SentinelServersConfig;
 import org.redisson.config.SingleServerConfig;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
-import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.cloud.context.config.annotation.RefreshScope;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
 
+import java.util.Arrays;
+
 /**
  * Redisson 配置类
+ * 通过 redisson.mode 选择部署模式：
+ * <ul>
+ *     <li>single：单机（默认），使用 spring.data.redis.host/port</li>
+ *     <li>sentinel：哨兵，redisson.masterName + redisson.nodes（哨兵地址）</li>
+ *     <li>cluster：集群，redisson.nodes（集群节点地址）</li>
+ *     <li>master-slave：主从，redisson.masterAddress + redisson.nodes（从节点地址）</li>
+ * </ul>
+ * 多节点模式下 redisson.readMode 可设为 SLAVE / MASTER_SLAVE，由从节点承担读请求。
+ * RedisTemplate（含 Sa-Token 使用的模板）由 Redisson Starter 基于该客户端创建的 RedissonConnectionFactory 构建，
+ * 因此与这里的部署模式、读模式保持一致。
  *
  * @author Corki
  * @since 2025-12-16
@@ -22,6 +41,16 @@ import org.springframework.context.annotation.Primary;
 @RefreshScope
 public class RedissonConfig {
 
+    private static final String MODE_SINGLE = "single";
+
+    private static final String MODE_SENTINEL = "sentinel";
+
+    private static final String MODE_CLUSTER = "cluster";
+
+    private static final String MODE_MASTER_SLAVE = "master-slave";
+
+    private static final String REDIS_PROTOCOL = "redis://";
+
     @Value("${spring.data.redis.host:localhost}")
     private String redisHost;
 
@@ -40,45 +69,171 @@ public class RedissonConfig {
     @Value("${redisson.lockWatchdogTimeout:30000}")
     private int lockWatchdogTimeout;
 
+    @Value("${redisson.mode:single}")
+    private String mode;
+
+    /**
+     * 节点地址，逗号分隔：集群节点 / 哨兵地址 / 主从模式下的从节点
+     */
+    @Value("${redisson.nodes:}")
+    private String nodes;
+
+    @Value("${redisson.masterName:${spring.data.redis.sentinel.master:}}")
+    private String masterName;
+
+    @Value("${redisson.masterAddress:}")
+    private String masterAddress;
+
+    @Value("${redisson.readMode:MASTER}")
+    private ReadMode readMode;
+
+    @Value("${redisson.connectionPoolSize:64}")
+    private int connectionPoolSize;
+
+    @Value("${redisson.connectionMinimumIdleSize:10}")
+    private int connectionMinimumIdleSize;
+
+    @Value("${redisson.subscriptionConnectionPoolSize:50}")
+    private int subscriptionConnectionPoolSize;
+
+    @Value("${redisson.subscriptionConnectionMinimumIdleSize:1}")
+    private int subscriptionConnectionMinimumIdleSize;
+
+    @Value("${redisson.idleConnectionTimeout:10000}")
+    private int idleConnectionTimeout;
+
+    @Value("${redisson.retryAttempts:3}")
+    private int retryAttempts;
+
+    @Value("${redisson.retryInterval:1500}")
+    private int retryInterval;
+
+    /**
+     * Redisson 内部线程数，未配置时保持 Redisson 默认值（16），配置为 0 表示 CPU 核数 * 2
+     */
+    @Value("${redisson.threads:#{null}}")
+    private Integer threads;
+
+    /**
+     * Netty 线程数，0 表示 CPU 核数 * 2
+     */
+    @Value("${redisson.nettyThreads:32}")
+    private int nettyThreads;
+
     @Bean(destroyMethod = "shutdown")
     @Primary
     @ConditionalOnMissingBean(RedissonClient.class)
-    public RedissonClient redissonClient() {
+    public RedissonClient redissonClient(Codec redissonCodec) {
         Config config = new Config();
 
-        // 单机模式配置
+        switch (mode) {
+            case MODE_SINGLE -> useSingleServer(config);
+            case MODE_SENTINEL -> useSentinelServers(config);
+            case MODE_CLUSTER -> useClusterServers(config);
+            case MODE_MASTER_SLAVE -> useMasterSlaveServers(config);
+            default -> throw new IllegalArgumentException("不支持的 redisson.mode: " + mode);
+        }
+
+        // 设置看门狗超时时间（默认30秒）
+        config.setLockWatchdogTimeout(lockWatchdogTimeout);
+        if (threads != null) {
+            config.setThreads(threads);
+        }
+        config.setNettyThreads(nettyThreads);
+
+        // 编码配置，与 RedisTemplate 共用，见 RedisSerializerConfig
+        config.setCodec(redissonCodec);
+
+        return Redisson.create(config);
+    }
+
+    private void useSingleServer(Config config) {
         SingleServerConfig serverConfig = config.useSingleServer()
-                .setAddress("redis://" + redisHost + ":" + redisPort)
+                .setAddress(REDIS_PROTOCOL + redisHost + ":" + redisPort)
                 .setDatabase(redisDatabase)
-                .setTimeout(redisTimeout)
                 // 连接池大小
-                .setConnectionPoolSize(64)
-                // 连接空闲超时时间
-                .setConnectionMinimumIdleSize(10)
-                // 空闲连接超时时间
-                .setIdleConnectionTimeout(10000)
-                // 命令等待超时时间
-                .setRetryAttempts(3)
-                // 命令重试间隔
-                .setRetryInterval(1500)
+                .setConnectionPoolSize(connectionPoolSize)
+                // 最小空闲连接数
+                .setConnectionMinimumIdleSize(connectionMinimumIdleSize)
                 // 发布和订阅连接池大小
-                .setSubscriptionConnectionPoolSize(50)
+                .setSubscriptionConnectionPoolSize(subscriptionConnectionPoolSize)
                 // 发布和订阅连接的最小空闲数
-                .setSubscriptionConnectionMinimumIdleSize(1)
+                .setSubscriptionConnectionMinimumIdleSize(subscriptionConnectionMinimumIdleSize)
                 // DNS监测间隔
                 .setDnsMonitoringInterval(5000);
+        applyBaseConfig(serverConfig);
+    }
+
+    private void useSentinelServers(Config config) {
+        SentinelServersConfig serverConfig = config.useSentinelServers()
+                .setMasterName(masterName)
+                .addSentinelAddress(addresses(nodes))
+                .setDatabase(redisDatabase)
+                // 哨兵本身通常不设密码，关闭哨兵节点列表校验以兼容单哨兵部署
+                .setCheckSentinelsList(false);
+        applyMasterSlaveConfig(serverConfig);
+    }
+
+    private void useClusterServers(Config config) {
+        ClusterServersConfig serverConfig = config.useClusterServers()
+                .addNodeAddress(addresses(nodes));
+        applyMasterSlaveConfig(serverConfig);
+    }
+
+    private void useMasterSlaveServers(Config config) {
+        MasterSlaveServersConfig serverConfig = config.useMasterSlaveServers()
+                .setMasterAddress(address(masterAddress))
+                .addSlaveAddress(addresses(nodes))
+                .setDatabase(redisDatabase);
+        applyMasterSlaveConfig(serverConfig);
+    }
+
+    /**
+     * 多节点模式通用配置：主从连接池与读模式
+     */
+    private void applyMasterSlaveConfig(BaseMasterSlaveServersConfig<?> serverConfig) {
+        serverConfig.setReadMode(readMode)
+                .setMasterConnectionPoolSize(connectionPoolSize)
+                .setMasterConnectionMinimumIdleSize(connectionMinimumIdleSize)
+                .setSlaveConnectionPoolSize(connectionPoolSize)
+                .setSlaveConnectionMinimumIdleSize(connectionMinimumIdleSize)
+                .setSubscriptionConnectionPoolSize(subscriptionConnectionPoolSize)
+                .setSubscriptionConnectionMinimumIdleSize(subscriptionConnectionMinimumIdleSize);
+        applyBaseConfig(serverConfig);
+    }
 
+    /**
+     * 所有模式通用配置：超时、重试与密码
+     */
+    private void applyBaseConfig(BaseConfig<?> serverConfig) {
+        serverConfig.setTimeout(redisTimeout)
+                // 空闲连接超时时间
+                .setIdleConnectionTimeout(idleConnectionTimeout)
+                // 命令失败重试次数
+                .setRetryAttempts(retryAttempts)
+                // 命令重试间隔
+                .setRetryInterval(retryInterval);
         // 设置密码
-        if (redisPassword != null && !redisPassword.isEmpty()) {
+        if (StrUtil.isNotEmpty(redisPassword)) {
             serverConfig.setPassword(redisPassword);
         }
+    }
 
-        // 设置看门狗超时时间（默认30秒）
-        config.setLockWatchdogTimeout(lockWatchdogTimeout);
-
-        // 编码配置
-        config.setCodec(org.redisson.codec.JsonJacksonCodec.INSTANCE);
+    private String[] addresses(String value) {
+        if (StrUtil.isBlank(value)) {
+            throw new IllegalArgumentException("redisson.mode 为 " + mode + " 时必须配置 redisson.nodes");
+        }
+        return Arrays.stream(value.split(","))
+                .map(String::trim)
+                .filter(StrUtil::isNotEmpty)
+                .map(this::address)
+                .toArray(String[]::new);
+    }
 
-        return Redisson.create(config);
+    private String address(String value) {
+        if (StrUtil.isBlank(value)) {
+            throw new IllegalArgumentException("redisson.mode 为 " + mode + " 时必须配置节点地址");
+        }
+        return value.startsWith(REDIS_PROTOCOL) || value.startsWith("rediss://") ? value : REDIS_PROTOCOL + value;
     }
-}
\ No newline at end of file
+}
@@ -8,7 +8,9 @@ public enum ResponseEnum {
     SUCCESS(200, "成功"),
     BAD_REQUEST(400, "请求错误"),
     UN_AUTH(401, "未认证"),
+    FORBIDDEN(403, "没有访问权限，请联系管理员授权"),
     NOT_FOUND(404, "未找到"),
+    TOO_MANY_REQUESTS(429, "请求过于频繁，请稍后再试"),
     ERROR(500, "服务器错误"),
 
     USER_NOT_EXIST(10001, "用户不存在"),
@@ -18,6 +20,8 @@ public enum ResponseEnum {
     USER_LOGIN_ERROR(10005, "用户登录失败"),
     USER_LOGOUT_ERROR(10006, "用户登出失败"),
     USER_LOGOUT_SUCCESS(10007, "用户登出成功"),
+    LOGIN_CAPTCHA_REQUIRED(10008, "登录失败次数过多，请输入验证码"),
+    LOGIN_LOCKED(10009, "登录失败次数过多，请稍后再试"),
 
     ;
 
@@ -0,0 +1,34 @@
+package com.corki.common.enums;
+
+import lombok.Getter;
+
+/**
+ * Redis 值序列化方式
+ *
+ * @author Corki
+ * @since 2026-10-17
+ */
+@Getter
+public enum SerializerTypeEnum {
+
+    JSON("json", "Jackson JSON（携带 @class 类型信息）"),
+    KRYO("kryo", "Kryo 紧凑二进制"),
+    ;
+
+    private final String type;
+    private final String msg;
+
+    SerializerTypeEnum(String type, String msg) {
+        this.type = type;
+        this.msg = msg;
+    }
+
+    public static SerializerTypeEnum of(String type) {
+        for (SerializerTypeEnum value : values()) {
+            if (value.type.equalsIgnoreCase(type)) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("不支持的序列化方式: " + type);
+    }
+}
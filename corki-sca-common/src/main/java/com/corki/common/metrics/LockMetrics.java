@@ -0,0 +1,206 @@
+package com.corki.common.metrics;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 分布式锁指标
+ * 按锁名称记录获取耗时、持有时长（带百分位直方图）以及超时、中断次数，并统计竞争最激烈的锁key。
+ * <ul>
+ *     <li>redisson.lock.acquire：获取锁耗时，tag result=acquired/timeout/interrupted</li>
+ *     <li>redisson.lock.hold：持有锁时长</li>
+ *     <li>redisson.lock.timeout / redisson.lock.interrupted：获取失败次数</li>
+ * </ul>
+ * tag 中的 name 为锁名称（注解的 value，或 key 去掉最后一段），不同名称超过上限后归入 other，避免指标基数膨胀；
+ * 完整 key 的竞争次数只在内存中统计，通过 actuator 端点 locks 查看。
+ *
+ * @author Corki
+ * @since 2026-10-17
+ */
+@Component
+public class LockMetrics {
+
+    private static final String OTHER = "other";
+
+    private static final String RESULT_ACQUIRED = "acquired";
+
+    private static final String RESULT_TIMEOUT = "timeout";
+
+    private static final String RESULT_INTERRUPTED = "interrupted";
+
+    private final MeterRegistry registry;
+
+    /**
+     * 获取耗时超过该值（毫秒）视为发生竞争
+     */
+    @Value("${lock.metrics.contendedThresholdMillis:10}")
+    private long contendedThresholdMillis;
+
+    /**
+     * 指标中锁名称的最大数量
+     */
+    @Value("${lock.metrics.maxNames:200}")
+    private int maxNames;
+
+    private final Map<String, LockMeters> meters = new ConcurrentHashMap<>();
+
+    /**
+     * 完整锁key -> 竞争次数
+     */
+    private final Cache<String, LongAdder> contention = Caffeine.newBuilder()
+            .maximumSize(10000)
+            .expireAfterAccess(Duration.ofHours(1))
+            .build();
+
+    public LockMetrics(ObjectProvider<MeterRegistry> registryProvider) {
+        this.registry = registryProvider.getIfAvailable(() -> Metrics.globalRegistry);
+    }
+
+    /**
+     * 记录获取锁成功
+     *
+     * @param name      锁名称
+     * @param lockKey   完整锁key
+     * @param startNano 开始获取的时间
+     */
+    public void acquired(String name, String lockKey, long startNano) {
+        long elapsed = System.nanoTime() - startNano;
+        meters(name).acquired.record(elapsed, TimeUnit.NANOSECONDS);
+        if (TimeUnit.NANOSECONDS.toMillis(elapsed) >= contendedThresholdMillis) {
+            contended(lockKey);
+        }
+    }
+
+    /**
+     * 记录获取锁超时
+     */
+    public void timeout(String name, String lockKey, long startNano) {
+        LockMeters lockMeters = meters(name);
+        lockMeters.timedOut.record(System.nanoTime() - startNano, TimeUnit.NANOSECONDS);
+        lockMeters.timeouts.increment();
+        contended(lockKey);
+    }
+
+    /**
+     * 记录获取锁被中断
+     */
+    public void interrupted(String name, String lockKey, long startNano) {
+        LockMeters lockMeters = meters(name);
+        lockMeters.interrupted.record(System.nanoTime() - startNano, TimeUnit.NANOSECONDS);
+        lockMeters.interrupts.increment();
+        contended(lockKey);
+    }
+
+    /**
+     * 记录持有锁时长
+     *
+     * @param name          锁名称
+     * @param acquiredNano  获取到锁的时间
+     */
+    public void released(String name, long acquiredNano) {
+        meters(name).hold.record(System.nanoTime() - acquiredNano, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * 竞争次数最多的锁key
+     *
+     * @param limit 数量
+     * @return key -> 竞争次数，按次数降序
+     */
+    public Map<String, Long> topContended(int limit) {
+        Map<String, Long> top = new LinkedHashMap<>();
+        contention.asMap().entrySet().stream()
+                .map(entry -> Map.entry(entry.getKey(), entry.getValue().sum()))
+                .sorted(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder()))
+                .limit(limit)
+                .forEach(entry -> top.put(entry.getKey(), entry.getValue()));
+        return top;
+    }
+
+    /**
+     * 由完整锁key推导锁名称：去掉最后一个 ':' 之后的动态部分
+     *
+     * @param lockKey 锁key
+     * @return 锁名称
+     */
+    public static String nameOf(String lockKey) {
+        int index = lockKey.lastIndexOf(':');
+        return index > 0 ? lockKey.substring(0, index) : lockKey;
+    }
+
+    private void contended(String lockKey) {
+        contention.get(lockKey, k -> new LongAdder()).increment();
+    }
+
+    private LockMeters meters(String name) {
+        LockMeters lockMeters = meters.get(name);
+        if (lockMeters != null) {
+            return lockMeters;
+        }
+        if (meters.size() >= maxNames) {
+            return meters.computeIfAbsent(OTHER, LockMeters::new);
+        }
+        return meters.computeIfAbsent(name, LockMeters::new);
+    }
+
+    /**
+     * 单个锁名称的指标
+     */
+    private final class LockMeters {
+
+        private final Timer acquired;
+
+        private final Timer timedOut;
+
+        private final Timer interrupted;
+
+        private final Timer hold;
+
+        private final Counter timeouts;
+
+        private final Counter interrupts;
+
+        private LockMeters(String name) {
+            this.acquired = acquireTimer(name, RESULT_ACQUIRED);
+            this.timedOut = acquireTimer(name, RESULT_TIMEOUT);
+            this.interrupted = acquireTimer(name, RESULT_INTERRUPTED);
+            this.hold = Timer.builder("redisson.lock.hold")
+                    .description("分布式锁持有时长")
+                    .tag("name", name)
+                    .publishPercentileHistogram()
+                    .register(registry);
+            this.timeouts = Counter.builder("redisson.lock.timeout")
+                    .description("获取分布式锁超时次数")
+                    .tag("name", name)
+                    .register(registry);
+            this.interrupts = Counter.builder("redisson.lock.interrupted")
+                    .description("获取分布式锁被中断次数")
+                    .tag("name", name)
+                    .register(registry);
+        }
+
+        private Timer acquireTimer(String name, String result) {
+            return Timer.builder("redisson.lock.acquire")
+                    .description("获取分布式锁耗时")
+                    .tag("name", name)
+                    .tag("result", result)
+                    .publishPercentileHistogram()
+                    .register(registry);
+        }
+    }
+}
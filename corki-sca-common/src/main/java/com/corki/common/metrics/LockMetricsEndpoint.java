@@ -0,0 +1,31 @@
+package com.corki.common.metrics;
+
+import jakarta.annotation.Resource;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * 锁竞争热点端点：GET /actuator/locks?limit=20
+ * 需在 management.endpoints.web.exposure.include 中加入 locks
+ *
+ * @author Corki
+ * @since 2026-10-17
+ */
+@Component
+@Endpoint(id = "locks")
+public class LockMetricsEndpoint {
+
+    private static final int DEFAULT_LIMIT = 20;
+
+    @Resource
+    private LockMetrics lockMetrics;
+
+    @ReadOperation
+    public Map<String, Long> hotKeys(@Nullable Integer limit) {
+        return lockMetrics.topContended(limit != null && limit > 0 ? limit : DEFAULT_LIMIT);
+    }
+}
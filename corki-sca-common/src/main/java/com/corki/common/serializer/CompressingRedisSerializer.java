@@ -0,0 +1,93 @@
+package com.corki.common.serializer;
+
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.ByteArrayOutputStream;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * 超过阈值时压缩的序列化包装
+ * 压缩后的数据以 2 字节头标识（0xFE 在 UTF-8 中非法，JSON 与 Kryo 输出都不会以它开头），
+ * 未带头的数据按原样交给被包装的序列化器，因此开启压缩前写入的旧数据仍可读取。
+ *
+ * @author Corki
+ * @since 2026-10-17
+ */
+public class CompressingRedisSerializer implements RedisSerializer<Object> {
+
+    private static final byte MAGIC = (byte) 0xFE;
+
+    private static final byte ALGORITHM_DEFLATE = 1;
+
+    private static final int HEADER_LENGTH = 2;
+
+    private final RedisSerializer<Object> delegate;
+
+    private final int threshold;
+
+    public CompressingRedisSerializer(RedisSerializer<Object> delegate, int threshold) {
+        this.delegate = delegate;
+        this.threshold = threshold;
+    }
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        byte[] bytes = delegate.serialize(value);
+        if (bytes == null || bytes.length < threshold) {
+            return bytes;
+        }
+        byte[] compressed = deflate(bytes);
+        // 压缩收益不足时保留原文，避免读取时白白解压
+        return compressed.length < bytes.length ? compressed : bytes;
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes != null && bytes.length > HEADER_LENGTH && bytes[0] == MAGIC && bytes[1] == ALGORITHM_DEFLATE) {
+            return delegate.deserialize(inflate(bytes));
+        }
+        return delegate.deserialize(bytes);
+    }
+
+    private static byte[] deflate(byte[] bytes) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(bytes);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 2 + HEADER_LENGTH);
+            out.write(MAGIC);
+            out.write(ALGORITHM_DEFLATE);
+            byte[] buffer = new byte[Math.min(bytes.length, 8192)];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] bytes) {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(bytes, HEADER_LENGTH, bytes.length - HEADER_LENGTH);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length * 3);
+            byte[] buffer = new byte[8192];
+            while (!inflater.finished()) {
+                int count = inflater.inflate(buffer);
+                if (count == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new SerializationException("压缩数据不完整");
+                }
+                out.write(buffer, 0, count);
+            }
+            return out.toByteArray();
+        } catch (DataFormatException e) {
+            throw new SerializationException("解压缩失败", e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
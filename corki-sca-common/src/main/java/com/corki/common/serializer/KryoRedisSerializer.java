@@ -0,0 +1,144 @@
+package com.corki.common.serializer;
+
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.KryoException;
+import com.esotericsoftware.kryo.Registration;
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+import com.esotericsoftware.kryo.util.DefaultClassResolver;
+import com.esotericsoftware.kryo.util.DefaultInstantiatorStrategy;
+import com.esotericsoftware.kryo.util.MapReferenceResolver;
+import com.esotericsoftware.kryo.util.Pool;
+import org.objenesis.strategy.StdInstantiatorStrategy;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Kryo 二进制序列化
+ * 不要求注册类，类名只写一次，体积明显小于携带 @class 的 JSON。
+ * 反序列化时按类名加载的类型必须在白名单内（com.corki.*、JDK 集合、java.time、java.math 及额外配置的包前缀），
+ * 避免 Redis 中被写入的数据借助任意类构造反序列化利用链。
+ * Kryo 实例非线程安全，通过对象池复用。
+ *
+ * @author Corki
+ * @since 2026-10-17
+ */
+public class KryoRedisSerializer implements RedisSerializer<Object> {
+
+    private static final int POOL_SIZE = 64;
+
+    private static final int BUFFER_SIZE = 256;
+
+    /**
+     * 默认允许的类名前缀
+     */
+    private static final List<String> DEFAULT_ALLOWED_PREFIXES = List.of("com.corki.");
+
+    /**
+     * 默认允许的 JDK 包（不含子包）
+     */
+    private static final Set<String> ALLOWED_PACKAGES = Set.of("java.util", "java.util.concurrent",
+            "java.util.concurrent.atomic", "java.time", "java.math");
+
+    /**
+     * java.lang 中允许的值类型，其余类型默认已注册，不经过类名解析
+     */
+    private static final Set<Class<?>> ALLOWED_LANG_TYPES = Set.of(Object.class, String.class, Boolean.class,
+            Byte.class, Character.class, Short.class, Integer.class, Long.class, Float.class, Double.class,
+            Number.class, Enum.class);
+
+    private final List<String> allowedPrefixes;
+
+    private final Pool<Kryo> kryoPool = new Pool<>(true, false, POOL_SIZE) {
+        @Override
+        protected Kryo create() {
+            Kryo kryo = new Kryo(new AllowListClassResolver(), new MapReferenceResolver());
+            kryo.setRegistrationRequired(false);
+            kryo.setReferences(true);
+            kryo.setClassLoader(Thread.currentThread().getContextClassLoader());
+            // 没有无参构造的类（如部分 record、不可变集合）退化为 Objenesis 实例化
+            kryo.setInstantiatorStrategy(new DefaultInstantiatorStrategy(new StdInstantiatorStrategy()));
+            return kryo;
+        }
+    };
+
+    public KryoRedisSerializer() {
+        this(List.of());
+    }
+
+    /**
+     * @param extraAllowedPrefixes 额外允许反序列化的类名前缀，如 "cn.hutool.json."
+     */
+    public KryoRedisSerializer(Collection<String> extraAllowedPrefixes) {
+        this.allowedPrefixes = new ArrayList<>(DEFAULT_ALLOWED_PREFIXES);
+        extraAllowedPrefixes.stream().filter(prefix -> !prefix.isBlank()).map(String::trim)
+                .forEach(this.allowedPrefixes::add);
+    }
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        if (value == null) {
+            return new byte[0];
+        }
+        Kryo kryo = kryoPool.obtain();
+        try (Output output = new Output(BUFFER_SIZE, -1)) {
+            kryo.writeClassAndObject(output, value);
+            return output.toBytes();
+        } catch (Exception e) {
+            throw new SerializationException("Kryo 序列化失败: " + value.getClass().getName(), e);
+        } finally {
+            kryoPool.free(kryo);
+        }
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        Kryo kryo = kryoPool.obtain();
+        try (Input input = new Input(bytes)) {
+            return kryo.readClassAndObject(input);
+        } catch (Exception e) {
+            throw new SerializationException("Kryo 反序列化失败", e);
+        } finally {
+            kryoPool.free(kryo);
+        }
+    }
+
+    private boolean isAllowed(Class<?> type) {
+        while (type.isArray()) {
+            type = type.getComponentType();
+        }
+        if (type.isPrimitive() || ALLOWED_LANG_TYPES.contains(type) || ALLOWED_PACKAGES.contains(type.getPackageName())) {
+            return true;
+        }
+        String name = type.getName();
+        for (String prefix : allowedPrefixes) {
+            if (name.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 只在按类名读取类型时校验白名单，预注册类型通过 ID 读取不受影响
+     */
+    private class AllowListClassResolver extends DefaultClassResolver {
+
+        @Override
+        protected Registration readName(Input input) {
+            Registration registration = super.readName(input);
+            if (registration != null && !isAllowed(registration.getType())) {
+                throw new KryoException("类型不在反序列化白名单内: " + registration.getType().getName());
+            }
+            return registration;
+        }
+    }
+}
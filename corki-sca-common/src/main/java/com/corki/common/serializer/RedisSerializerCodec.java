@@ -0,0 +1,40 @@
+package com.corki.common.serializer;
+
+import io.netty.buffer.Unpooled;
+import org.redisson.client.codec.BaseCodec;
+import org.redisson.client.protocol.Decoder;
+import org.redisson.client.protocol.Encoder;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+/**
+ * 将 Spring Data 的 {@link RedisSerializer} 适配为 Redisson 编解码器
+ * RedisTemplate 与 Redisson 共用同一个序列化器，两边写入的值可以互相读取。
+ *
+ * @author Corki
+ * @since 2026-10-17
+ */
+public class RedisSerializerCodec extends BaseCodec {
+
+    private final Encoder encoder;
+
+    private final Decoder<Object> decoder;
+
+    public RedisSerializerCodec(RedisSerializer<Object> serializer) {
+        this.encoder = in -> Unpooled.wrappedBuffer(serializer.serialize(in));
+        this.decoder = (buf, state) -> {
+            byte[] bytes = new byte[buf.readableBytes()];
+            buf.readBytes(bytes);
+            return serializer.deserialize(bytes);
+        };
+    }
+
+    @Override
+    public Decoder<Object> getValueDecoder() {
+        return decoder;
+    }
+
+    @Override
+    public Encoder getValueEncoder() {
+        return encoder;
+    }
+}
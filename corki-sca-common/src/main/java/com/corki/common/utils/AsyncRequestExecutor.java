@@ -0,0 +1,55 @@
+package com.corki.common.utils;
+
+import cn.dev33.satoken.context.SaTokenContextForThreadLocalStaff;
+import cn.dev33.satoken.context.model.SaTokenContextModelBox;
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * 在虚拟线程中执行请求处理逻辑
+ * 控制器返回 {@link CompletableFuture} 后 Tomcat 线程立即归还，处理过程中的阻塞等待（如等待密码哈希结果）只占用虚拟线程；
+ * 执行期间沿用原请求的 Spring 请求上下文与 Sa-Token 上下文，登录写 Cookie、读取请求头等操作不受影响。
+ *
+ * @author Corki
+ * @since 2026-10-17
+ */
+@Component
+public class AsyncRequestExecutor {
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    /**
+     * 在虚拟线程中执行
+     *
+     * @param task 处理逻辑
+     * @return 处理结果，抛出的异常由 Spring MVC 解包后交给全局异常处理
+     */
+    public <T> CompletableFuture<T> supply(Supplier<T> task) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        SaTokenContextModelBox box = SaTokenContextForThreadLocalStaff.getModelBoxOrNull();
+        return CompletableFuture.supplyAsync(() -> {
+            RequestContextHolder.setRequestAttributes(attributes);
+            if (box != null) {
+                SaTokenContextForThreadLocalStaff.setModelBox(box.getRequest(), box.getResponse(), box.getStorage());
+            }
+            try {
+                return task.get();
+            } finally {
+                SaTokenContextForThreadLocalStaff.clearModelBox();
+                RequestContextHolder.resetRequestAttributes();
+            }
+        }, executor);
+    }
+
+    @PreDestroy
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
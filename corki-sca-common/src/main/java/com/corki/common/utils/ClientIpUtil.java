@@ -0,0 +1,49 @@
+package com.corki.common.utils;
+
+import cn.hutool.core.util.StrUtil;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/**
+ * 客户端IP工具类
+ * 客户端IP由网关按可信代理解析后写入 {@link #HEADER}，网关会覆盖外部传入的同名请求头；
+ * 下游服务只读取该请求头，不解析 X-Forwarded-For、X-Real-IP 等客户端可伪造的请求头。
+ * 未经网关的请求（如内部直连）退化为 TCP 对端地址。
+ *
+ * @author Corki
+ * @since 2026-10-17
+ */
+public class ClientIpUtil {
+
+    /**
+     * 网关写入的客户端IP请求头
+     */
+    public static final String HEADER = "X-Client-IP";
+
+    private ClientIpUtil() {
+    }
+
+    /**
+     * 获取请求的客户端IP
+     *
+     * @param request 请求
+     * @return 客户端IP
+     */
+    public static String getClientIp(HttpServletRequest request) {
+        String ip = request.getHeader(HEADER);
+        return StrUtil.isNotBlank(ip) ? ip.trim() : request.getRemoteAddr();
+    }
+
+    /**
+     * 获取当前请求的客户端IP
+     *
+     * @return 客户端IP，不在请求线程中时返回 null
+     */
+    public static String getClientIp() {
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            return getClientIp(attributes.getRequest());
+        }
+        return null;
+    }
+}
@@ -0,0 +1,155 @@
+package com.corki.common.utils;
+
+import cn.hutool.crypto.SecureUtil;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Lua 脚本注册表
+ * 启动时加载 classpath*:lua/*.lua（脚本名为文件名去掉 .lua），预先计算 SHA1 并 SCRIPT LOAD 到 Redis，
+ * 执行时只发送 EVALSHA，遇到 NOSCRIPT（Redis 重启、故障切换）再退回 EVAL。
+ * <ul>
+ *     <li>RedisTemplate：通过 {@link #getRedisScript(String, Class)} 获取缓存的 RedisScript，EVALSHA 与回退由 Spring 完成</li>
+ *     <li>Redisson：{@link RedissonUtil#evalScript} / {@link RedissonUtil#eval} 使用这里缓存的 SHA1</li>
+ * </ul>
+ *
+ * @author Corki
+ * @since 2026-10-17
+ */
+@Slf4j
+@Component
+public class LuaScriptRegistry {
+
+    private static final String SCRIPT_LOCATION = "classpath*:lua/*.lua";
+
+    private static final String SCRIPT_SUFFIX = ".lua";
+
+    @Resource
+    private RedissonClient redissonClient;
+
+    /**
+     * 脚本名 -> 脚本内容
+     */
+    private final Map<String, String> scripts = new ConcurrentHashMap<>();
+
+    /**
+     * 脚本内容 -> SHA1，包含注册脚本与运行时传入的脚本
+     */
+    private final Map<String, String> sha1Cache = new ConcurrentHashMap<>();
+
+    /**
+     * 脚本名:返回类型 -> RedisScript
+     */
+    private final Map<String, RedisScript<?>> redisScripts = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init() throws IOException {
+        PathMatchingResourcePatternResolver resolver = new PathMatchingResourcePatternResolver();
+        for (org.springframework.core.io.Resource resource : resolver.getResources(SCRIPT_LOCATION)) {
+            String filename = resource.getFilename();
+            if (filename == null || !filename.endsWith(SCRIPT_SUFFIX)) {
+                continue;
+            }
+            try (InputStream in = resource.getInputStream()) {
+                register(filename.substring(0, filename.length() - SCRIPT_SUFFIX.length()),
+                        StreamUtils.copyToString(in, StandardCharsets.UTF_8));
+            }
+        }
+        preload();
+    }
+
+    /**
+     * 注册脚本
+     *
+     * @param name   脚本名
+     * @param script 脚本内容
+     */
+    public void register(String name, String script) {
+        String previous = scripts.put(name, script);
+        if (previous != null && !previous.equals(script)) {
+            log.warn("Lua脚本被覆盖: {}", name);
+        }
+        sha1(script);
+    }
+
+    /**
+     * 获取脚本内容
+     *
+     * @param name 脚本名
+     * @return 脚本内容
+     */
+    public String getScript(String name) {
+        String script = scripts.get(name);
+        if (script == null) {
+            throw new IllegalArgumentException("Lua脚本不存在: " + name);
+        }
+        return script;
+    }
+
+    /**
+     * 获取脚本对应的 RedisScript（供 RedisTemplate 使用）
+     *
+     * @param name       脚本名
+     * @param resultType 返回值类型
+     * @param <T>        返回值类型
+     * @return RedisScript
+     */
+    @SuppressWarnings("unchecked")
+    public <T> RedisScript<T> getRedisScript(String name, Class<T> resultType) {
+        return (RedisScript<T>) redisScripts.computeIfAbsent(name + ":" + resultType.getName(),
+                k -> new DefaultRedisScript<>(getScript(name), resultType));
+    }
+
+    /**
+     * 计算脚本 SHA1（带缓存）
+     *
+     * @param script 脚本内容
+     * @return SHA1
+     */
+    public String sha1(String script) {
+        return sha1Cache.computeIfAbsent(script, SecureUtil::sha1);
+    }
+
+    /**
+     * 将注册的脚本加载到 Redis，失败时不影响启动，执行时会通过 EVAL 回退
+     */
+    public void preload() {
+        for (Map.Entry<String, String> entry : scripts.entrySet()) {
+            try {
+                redissonClient.getScript(StringCodec.INSTANCE).scriptLoad(entry.getValue());
+            } catch (Exception e) {
+                log.warn("预加载Lua脚本失败: {}", entry.getKey(), e);
+            }
+        }
+        log.info("已加载Lua脚本: {}", scripts.keySet());
+    }
+
+    /**
+     * 判断是否为脚本缓存缺失异常
+     *
+     * @param e 异常
+     * @return 是否为 NOSCRIPT
+     */
+    public static boolean isNoScript(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause.getMessage() != null && cause.getMessage().contains("NOSCRIPT")) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
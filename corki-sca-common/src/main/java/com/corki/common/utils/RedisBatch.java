@@ -0,0 +1,286 @@
+package com.corki.common.utils;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Redis 批量操作
+ * 收集任意类型的命令，在一次 executePipelined 往返中执行，每个命令返回一个 {@link Response}，
+ * 执行后通过 {@link Response#get()} 取得类型化结果。
+ * <pre>
+ * RedisBatch batch = redisUtil.batch();
+ * RedisBatch.Response&lt;Object&gt; name = batch.hget("user:1", "name");
+ * batch.set("captcha:abc", "1234", 120, TimeUnit.SECONDS);
+ * batch.execute();
+ * name.get();
+ * </pre>
+ * SET、SETEX、HMSET 的回复在 Redisson 连接的管道结果中会被移除（Lettuce 则保留），
+ * 这几类命令标记为无回复，执行后按实际结果数量重新对应，其余命令的 Response 不会错位。
+ * 非线程安全，一个实例只能执行一次。
+ *
+ * @author Corki
+ * @since 2026-10-17
+ */
+public class RedisBatch {
+
+    private final RedisTemplate<String, Object> redisTemplate;
+
+    private final List<Consumer<RedisOperations<String, Object>>> commands = new ArrayList<>();
+
+    /**
+     * 与 commands 一一对应：回复可能被连接从管道结果中移除的命令
+     */
+    private final List<Boolean> replyless = new ArrayList<>();
+
+    private final List<Response<?>> responses = new ArrayList<>();
+
+    private boolean executed;
+
+    RedisBatch(RedisTemplate<String, Object> redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    // ================================String=================================
+
+    public Response<Object> get(String key) {
+        return add(ops -> ops.opsForValue().get(key), Function.identity());
+    }
+
+    public Response<Void> set(String key, Object value) {
+        return addReplyless(ops -> ops.opsForValue().set(key, value));
+    }
+
+    /**
+     * 设置值并指定过期时间（SET EX，单条命令）
+     */
+    public Response<Void> set(String key, Object value, long time, TimeUnit timeUnit) {
+        if (time <= 0) {
+            return set(key, value);
+        }
+        return addReplyless(ops -> ops.opsForValue().set(key, value, time, timeUnit));
+    }
+
+    public Response<Long> incr(String key, long delta) {
+        return add(ops -> ops.opsForValue().increment(key, delta), RedisBatch::toLong);
+    }
+
+    // ================================Key=================================
+
+    public Response<Boolean> expire(String key, long time, TimeUnit timeUnit) {
+        return add(ops -> ops.expire(key, time, timeUnit), RedisBatch::toBoolean);
+    }
+
+    public Response<Boolean> del(String key) {
+        return add(ops -> ops.delete(key), RedisBatch::toBoolean);
+    }
+
+    // ================================Hash=================================
+
+    public Response<Object> hget(String key, String item) {
+        return add(ops -> ops.opsForHash().get(key, item), Function.identity());
+    }
+
+    public Response<Boolean> hset(String key, String item, Object value) {
+        return add(ops -> ops.opsForHash().put(key, item, value), RedisBatch::toBoolean);
+    }
+
+    /**
+     * 设置 hash 字段并刷新整个 key 的过期时间
+     */
+    public Response<Boolean> hset(String key, String item, Object value, long time, TimeUnit timeUnit) {
+        Response<Boolean> response = hset(key, item, value);
+        expireIfPositive(key, time, timeUnit);
+        return response;
+    }
+
+    public Response<Void> hmset(String key, Map<String, Object> map, long time, TimeUnit timeUnit) {
+        Response<Void> response = addReplyless(ops -> ops.opsForHash().putAll(key, map));
+        expireIfPositive(key, time, timeUnit);
+        return response;
+    }
+
+    // ================================Set=================================
+
+    public Response<Long> sSet(String key, Object... values) {
+        return add(ops -> ops.opsForSet().add(key, values), RedisBatch::toLong);
+    }
+
+    public Response<Long> sSetAndTime(String key, long time, TimeUnit timeUnit, Object... values) {
+        Response<Long> response = sSet(key, values);
+        expireIfPositive(key, time, timeUnit);
+        return response;
+    }
+
+    // ================================ZSet=================================
+
+    public Response<Boolean> zAdd(String key, Object value, double score) {
+        return add(ops -> ops.opsForZSet().add(key, value, score), RedisBatch::toBoolean);
+    }
+
+    // ================================执行=================================
+
+    /**
+     * 批量设置值，每个 key 使用相同的过期时间
+     */
+    public RedisBatch setAll(Map<String, Object> map, long time, TimeUnit timeUnit) {
+        map.forEach((key, value) -> set(key, value, time, timeUnit));
+        return this;
+    }
+
+    /**
+     * 批量删除
+     */
+    public RedisBatch delAll(Collection<String> keys) {
+        keys.forEach(this::del);
+        return this;
+    }
+
+    /**
+     * 当前已收集的命令数
+     */
+    public int size() {
+        return commands.size();
+    }
+
+    /**
+     * 在一次管道往返中执行所有命令
+     *
+     * @return 连接返回的原始结果，Redisson 连接下不含 SET、SETEX、HMSET 的回复，按命令取值请使用 {@link Response}
+     */
+    @SuppressWarnings("unchecked")
+    public List<Object> execute() {
+        if (executed) {
+            throw new IllegalStateException("RedisBatch 只能执行一次");
+        }
+        executed = true;
+        if (commands.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<Object> results = redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            public <K, V> Object execute(RedisOperations<K, V> operations) throws DataAccessException {
+                RedisOperations<String, Object> ops = (RedisOperations<String, Object>) operations;
+                commands.forEach(command -> command.accept(ops));
+                return null;
+            }
+        });
+        int[] replyIndexes = replyIndexes(results.size());
+        for (Response<?> response : responses) {
+            int replyIndex = replyIndexes[response.index];
+            response.complete(replyIndex >= 0 ? results.get(replyIndex) : null);
+        }
+        return results;
+    }
+
+    /**
+     * 命令位置 -> 管道结果位置，没有回复的命令为 -1
+     */
+    private int[] replyIndexes(int resultCount) {
+        int[] indexes = new int[commands.size()];
+        if (resultCount == commands.size()) {
+            // 连接保留了所有命令的回复
+            for (int i = 0; i < indexes.length; i++) {
+                indexes[i] = i;
+            }
+            return indexes;
+        }
+        int reply = 0;
+        for (int i = 0; i < indexes.length; i++) {
+            indexes[i] = replyless.get(i) ? -1 : reply++;
+        }
+        if (reply != resultCount) {
+            throw new IllegalStateException("管道结果数量与命令不一致，命令: " + commands.size() + "，结果: " + resultCount);
+        }
+        return indexes;
+    }
+
+    private void expireIfPositive(String key, long time, TimeUnit timeUnit) {
+        if (time > 0) {
+            checkNotExecuted();
+            commands.add(ops -> ops.expire(key, time, timeUnit));
+            replyless.add(false);
+        }
+    }
+
+    private <T> Response<T> add(Consumer<RedisOperations<String, Object>> command, Function<Object, T> converter) {
+        return add(command, converter, false);
+    }
+
+    private Response<Void> addReplyless(Consumer<RedisOperations<String, Object>> command) {
+        return add(command, r -> null, true);
+    }
+
+    private <T> Response<T> add(Consumer<RedisOperations<String, Object>> command, Function<Object, T> converter,
+                                boolean noReply) {
+        checkNotExecuted();
+        Response<T> response = new Response<>(commands.size(), converter);
+        commands.add(command);
+        replyless.add(noReply);
+        responses.add(response);
+        return response;
+    }
+
+    private void checkNotExecuted() {
+        if (executed) {
+            throw new IllegalStateException("RedisBatch 已执行，不能再添加命令");
+        }
+    }
+
+    private static Boolean toBoolean(Object result) {
+        if (result instanceof Boolean b) {
+            return b;
+        }
+        if (result instanceof Number n) {
+            return n.longValue() > 0;
+        }
+        return result != null;
+    }
+
+    private static Long toLong(Object result) {
+        return result instanceof Number n ? n.longValue() : null;
+    }
+
+    /**
+     * 单条命令的结果
+     */
+    public static final class Response<T> {
+
+        private final int index;
+
+        private final Function<Object, T> converter;
+
+        private boolean done;
+
+        private T value;
+
+        private Response(int index, Function<Object, T> converter) {
+            this.index = index;
+            this.converter = converter;
+        }
+
+        private void complete(Object result) {
+            this.value = converter.apply(result);
+            this.done = true;
+        }
+
+        /**
+         * 获取结果，必须在 {@link RedisBatch#execute()} 之后调用
+         */
+        public T get() {
+            if (!done) {
+                throw new IllegalStateException("RedisBatch 尚未执行");
+            }
+            return value;
+        }
+    }
+}
@@ -7,16 +7,18 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.redis.connection.RedisStringCommands;
 import org.springframework.data.redis.connection.RedisZSetCommands;
 import org.springframework.data.redis.core.*;
-import org.springframework.data.redis.core.script.DefaultRedisScript;
 import org.springframework.data.redis.core.script.RedisScript;
-import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
-import org.springframework.data.redis.serializer.RedisSerializer;
-import org.springframework.data.redis.serializer.StringRedisSerializer;
 import org.springframework.stereotype.Component;
 
 import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Redis工具类
@@ -29,9 +31,17 @@ import java.util.stream.Collectors;
 @SuppressWarnings("unchecked")
 public class RedisUtil {
 
+    /**
+     * SCAN 默认每批数量
+     */
+    private static final int DEFAULT_SCAN_BATCH_SIZE = 500;
+
     @Resource
     private RedisTemplate<String, Object> redisTemplate;
 
+    @Resource
+    private LuaScriptRegistry luaScriptRegistry;
+
     // =============================common============================
 
     /**
@@ -125,31 +135,152 @@ public class RedisUtil {
 
     /**
      * 模糊删除
+     * 使用 SCAN 游标分批遍历，每批通过 UNLINK 异步删除，不会阻塞 Redis
      *
      * @param pattern 匹配模式
+     * @return 删除的key数量
      */
-    public void delByPattern(String pattern) {
-        Set<String> keys = keys(pattern);
-        if (CollUtil.isNotEmpty(keys)) {
-            redisTemplate.delete(keys);
+    public long delByPattern(String pattern) {
+        return delByPattern(pattern, DEFAULT_SCAN_BATCH_SIZE);
+    }
+
+    /**
+     * 模糊删除
+     *
+     * @param pattern   匹配模式
+     * @param batchSize 每批扫描/删除的数量
+     * @return 删除的key数量
+     */
+    public long delByPattern(String pattern, int batchSize) {
+        long[] deleted = {0};
+        scan(pattern, batchSize, batch -> deleted[0] += unlink(batch));
+        return deleted[0];
+    }
+
+    /**
+     * 模糊删除（并发删除，适用于大量key）
+     * 调用线程负责 SCAN，删除批次交给虚拟线程执行，同时在途的批次数不超过 parallelism；
+     * 某个批次失败不影响其他批次，全部批次结束后抛出首个异常（其余异常作为 suppressed 附加）
+     *
+     * @param pattern     匹配模式
+     * @param batchSize   每批扫描/删除的数量
+     * @param parallelism 最大并发删除批次数
+     * @return 删除的key数量
+     */
+    public long delByPattern(String pattern, int batchSize, int parallelism) {
+        Semaphore permits = new Semaphore(Math.max(1, parallelism));
+        List<Future<Long>> futures = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            scan(pattern, batchSize, batch -> {
+                permits.acquireUninterruptibly();
+                futures.add(executor.submit(() -> {
+                    try {
+                        return unlink(batch);
+                    } finally {
+                        permits.release();
+                    }
+                }));
+            });
+        }
+        long deleted = 0;
+        int failedBatches = 0;
+        Throwable failure = null;
+        for (Future<Long> future : futures) {
+            if (future.state() == Future.State.SUCCESS) {
+                deleted += future.resultNow();
+                continue;
+            }
+            failedBatches++;
+            Throwable e = future.exceptionNow();
+            if (failure == null) {
+                failure = e;
+            } else {
+                failure.addSuppressed(e);
+            }
         }
+        if (failure != null) {
+            log.error("模糊删除部分批次失败，pattern: {}, 已删除: {}, 失败批次: {}/{}",
+                    pattern, deleted, failedBatches, futures.size());
+            if (failure instanceof RuntimeException e) {
+                throw e;
+            }
+            if (failure instanceof Error e) {
+                throw e;
+            }
+            throw new IllegalStateException(failure);
+        }
+        return deleted;
     }
 
     /**
      * 模糊查询key
+     * 基于 SCAN 实现，仅适合结果集较小的场景，大量key请使用 {@link #scan(String, int, Consumer)}
      *
      * @param pattern 匹配模式
      * @return key集合
      */
     public Set<String> keys(String pattern) {
+        Set<String> keys = new HashSet<>();
         try {
-            return redisTemplate.keys(pattern);
+            scan(pattern, DEFAULT_SCAN_BATCH_SIZE, keys::addAll);
+            return keys;
         } catch (Exception e) {
             log.error("模糊查询key失败，pattern: {}", pattern, e);
             return Collections.emptySet();
         }
     }
 
+    /**
+     * 游标扫描key，按批次回调
+     *
+     * @param pattern   匹配模式
+     * @param batchSize 每批数量（同时作为 SCAN 的 COUNT 提示）
+     * @param consumer  批次消费者
+     */
+    public void scan(String pattern, int batchSize, Consumer<List<String>> consumer) {
+        ScanOptions options = ScanOptions.scanOptions().match(pattern).count(batchSize).build();
+        try (Cursor<String> cursor = redisTemplate.scan(options)) {
+            List<String> batch = new ArrayList<>(batchSize);
+            while (cursor.hasNext()) {
+                batch.add(cursor.next());
+                if (batch.size() >= batchSize) {
+                    consumer.accept(batch);
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+            if (!batch.isEmpty()) {
+                consumer.accept(batch);
+            }
+        }
+    }
+
+    /**
+     * 游标扫描key，返回惰性流，使用完毕需关闭流以释放游标
+     *
+     * @param pattern   匹配模式
+     * @param batchSize SCAN 的 COUNT 提示
+     * @return key流
+     */
+    public Stream<String> scan(String pattern, int batchSize) {
+        ScanOptions options = ScanOptions.scanOptions().match(pattern).count(batchSize).build();
+        Cursor<String> cursor = redisTemplate.scan(options);
+        return cursor.stream().onClose(cursor::close);
+    }
+
+    /**
+     * 异步删除key（UNLINK），内存回收在 Redis 后台线程完成
+     *
+     * @param keys key集合
+     * @return 删除的数量
+     */
+    public long unlink(Collection<String> keys) {
+        if (CollUtil.isEmpty(keys)) {
+            return 0;
+        }
+        Long count = redisTemplate.unlink(keys);
+        return count != null ? count : 0;
+    }
+
     /**
      * 重命名key
      *
@@ -290,6 +421,37 @@ public class RedisUtil {
         redisTemplate.opsForValue().multiSet(map);
     }
 
+    /**
+     * 批量设置并指定过期时间
+     * MSET 不支持过期时间，这里在一次管道往返中为每个 key 执行 SET EX
+     *
+     * @param map  key-value映射
+     * @param time 时间(秒) 小于等于0 将设置无限期
+     * @return true成功 false失败
+     */
+    public boolean multiSet(Map<String, Object> map, long time) {
+        if (time <= 0) {
+            multiSet(map);
+            return true;
+        }
+        try {
+            batch().setAll(map, time, TimeUnit.SECONDS).execute();
+            return true;
+        } catch (Exception e) {
+            log.error("批量设置缓存失败，keys: {}, time: {}", map.keySet(), time, e);
+            return false;
+        }
+    }
+
+    /**
+     * 创建批量操作，收集的命令在 {@link RedisBatch#execute()} 时一次往返执行
+     *
+     * @return 批量操作
+     */
+    public RedisBatch batch() {
+        return new RedisBatch(redisTemplate);
+    }
+
     // ================================Map=================================
 
     /**
@@ -1107,8 +1269,7 @@ public class RedisUtil {
      */
     public boolean releaseLock(String lockKey, Object value) {
         try {
-            String script = "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end";
-            DefaultRedisScript<Long> redisScript = new DefaultRedisScript<>(script, Long.class);
+            RedisScript<Long> redisScript = luaScriptRegistry.getRedisScript("release_lock", Long.class);
             Long result = redisTemplate.execute(redisScript, Collections.singletonList(lockKey), value);
             return Long.valueOf(1).equals(result);
         } catch (Exception e) {
@@ -1117,22 +1278,6 @@ public class RedisUtil {
         }
     }
 
-    // ============================序列化工具=============================
-
-    /**
-     * 初始化RedisTemplate的序列化方式
-     */
-    private void initRedisTemplate() {
-        RedisSerializer<String> stringSerializer = new StringRedisSerializer();
-        RedisSerializer<Object> jsonSerializer = new GenericJackson2JsonRedisSerializer();
-
-        // 设置key和value的序列化规则
-        redisTemplate.setKeySerializer(stringSerializer);
-        redisTemplate.setValueSerializer(jsonSerializer);
-        redisTemplate.setHashKeySerializer(stringSerializer);
-        redisTemplate.setHashValueSerializer(jsonSerializer);
-    }
-
     // ============================类型转换=============================
 
     /**
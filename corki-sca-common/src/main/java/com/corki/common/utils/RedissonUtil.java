@@ -1,15 +1,25 @@
 package com.corki.common.utils;
 
+import com.corki.common.metrics.LockMetrics;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import jakarta.annotation.Resource;
 import lombok.extern.slf4j.Slf4j;
 import org.redisson.api.*;
 import org.redisson.api.listener.MessageListener;
+import org.redisson.client.RedisException;
+import org.redisson.client.codec.StringCodec;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
 import java.util.function.Consumer;
+import java.util.function.Function;
 
 /**
  * Redisson分布式锁工具类
@@ -27,6 +37,26 @@ public class RedissonUtil {
     @Resource
     private RedissonClient redissonClient;
 
+    /**
+     * 本地锁，按锁名区分，localFirst 模式下在竞争分布式锁前使用
+     */
+    private final KeyedLocalLock localLocks = new KeyedLocalLock();
+
+    @Resource
+    private LockMetrics lockMetrics;
+
+    @Resource
+    private LuaScriptRegistry luaScriptRegistry;
+
+    /**
+     * 通过 tryLock 获取到的锁的获取时间，unlock 时据此记录持有时长。
+     * 租期到期自动释放、forceUnlock、持有线程未解锁等情况不会经过 unlock，条目按写入时间过期并限制总量
+     */
+    private final Cache<String, Long> holdStarts = Caffeine.newBuilder()
+            .expireAfterWrite(Duration.ofHours(1))
+            .maximumSize(10_000)
+            .build();
+
     // =============================Lock============================
 
     /**
@@ -80,9 +110,19 @@ public class RedissonUtil {
      */
     public boolean tryLock(String lockKey, long waitTime, long leaseTime, TimeUnit timeUnit) {
         RLock lock = getLock(lockKey);
+        String name = LockMetrics.nameOf(lockKey);
+        long start = System.nanoTime();
         try {
-            return lock.tryLock(waitTime, leaseTime, timeUnit);
+            boolean locked = lock.tryLock(waitTime, leaseTime, timeUnit);
+            if (locked) {
+                lockMetrics.acquired(name, lockKey, start);
+                holdStarts.asMap().putIfAbsent(holdKey(lockKey), System.nanoTime());
+            } else {
+                lockMetrics.timeout(name, lockKey, start);
+            }
+            return locked;
         } catch (InterruptedException e) {
+            lockMetrics.interrupted(name, lockKey, start);
             log.error("获取锁失败: {}", lockKey, e);
             Thread.currentThread().interrupt();
             return false;
@@ -154,6 +194,10 @@ public class RedissonUtil {
         // 只有持有锁的线程才能解锁
         if (lock.isHeldByCurrentThread()) {
             lock.unlock();
+            Long acquiredNano = holdStarts.asMap().remove(holdKey(lockKey));
+            if (acquiredNano != null) {
+                lockMetrics.released(LockMetrics.nameOf(lockKey), acquiredNano);
+            }
         }
     }
 
@@ -211,6 +255,103 @@ public class RedissonUtil {
         return lock.remainTimeToLive();
     }
 
+    private String holdKey(String lockKey) {
+        return lockKey + "#" + Thread.currentThread().threadId();
+    }
+
+    // =============================FencedLock============================
+
+    /**
+     * 获取栅栏锁
+     * 每次加锁成功都会返回一个单调递增的令牌，锁因 GC 停顿、网络分区过期后，
+     * 旧持有者的令牌必然小于新持有者，下游写入可据此拒绝过期写
+     *
+     * @param lockKey 锁的key
+     * @return RFencedLock
+     */
+    public RFencedLock getFencedLock(String lockKey) {
+        return redissonClient.getFencedLock(lockKey);
+    }
+
+    /**
+     * 尝试获取栅栏锁
+     *
+     * @param lockKey   锁的key
+     * @param waitTime  等待时间
+     * @param leaseTime 锁持有时间
+     * @param timeUnit  时间单位
+     * @return 栅栏令牌，获取失败返回null
+     */
+    public Long tryFencedLock(String lockKey, long waitTime, long leaseTime, TimeUnit timeUnit) {
+        RFencedLock lock = getFencedLock(lockKey);
+        String name = LockMetrics.nameOf(lockKey);
+        long start = System.nanoTime();
+        Long token = lock.tryLockAndGetToken(waitTime, leaseTime, timeUnit);
+        if (token != null) {
+            lockMetrics.acquired(name, lockKey, start);
+            holdStarts.asMap().putIfAbsent(holdKey(lockKey), System.nanoTime());
+        } else if (Thread.currentThread().isInterrupted()) {
+            lockMetrics.interrupted(name, lockKey, start);
+        } else {
+            lockMetrics.timeout(name, lockKey, start);
+        }
+        return token;
+    }
+
+    /**
+     * 释放栅栏锁
+     *
+     * @param lockKey 锁的key
+     */
+    public void unlockFenced(String lockKey) {
+        RFencedLock lock = getFencedLock(lockKey);
+        if (lock.isHeldByCurrentThread()) {
+            lock.unlock();
+            Long acquiredNano = holdStarts.asMap().remove(holdKey(lockKey));
+            if (acquiredNano != null) {
+                lockMetrics.released(LockMetrics.nameOf(lockKey), acquiredNano);
+            }
+        }
+    }
+
+    /**
+     * 执行带栅栏锁的任务，任务以令牌为参数，写入下游时应携带令牌做乐观校验，
+     * 例如 update ... set fence_token = #{token} where id = #{id} and fence_token &lt; #{token}
+     *
+     * @param lockKey   锁的key
+     * @param waitTime  等待时间
+     * @param leaseTime 锁持有时间
+     * @param timeUnit  时间单位
+     * @param task      要执行的任务
+     * @param <T>       返回值类型
+     * @return 执行结果（如果获取锁失败返回null）
+     */
+    public <T> T executeWithFencedLock(String lockKey, long waitTime, long leaseTime, TimeUnit timeUnit,
+                                       Function<Long, T> task) {
+        Long token = tryFencedLock(lockKey, waitTime, leaseTime, timeUnit);
+        if (token == null) {
+            return null;
+        }
+        try {
+            return task.apply(token);
+        } finally {
+            unlockFenced(lockKey);
+        }
+    }
+
+    /**
+     * 校验并推进 Redis 中资源的栅栏令牌
+     * 令牌大于资源上记录的令牌时更新并返回true；否则说明已有更新的持有者写入过，调用方应放弃本次写入
+     *
+     * @param fenceKey 资源栅栏key
+     * @param token    栅栏令牌
+     * @return 令牌是否有效
+     */
+    public boolean advanceFence(String fenceKey, long token) {
+        Long result = evalScript("advance_fence", RScript.ReturnType.INTEGER, List.of(fenceKey), token);
+        return Long.valueOf(1).equals(result);
+    }
+
     // =============================MultiLock============================
 
     /**
@@ -287,6 +428,17 @@ public class RedissonUtil {
 
     // =============================Lock Executor============================
 
+    /**
+     * 获取锁名对应的本地锁
+     *
+     * @param lockKey 锁的key
+     * @param shared  是否共享（读锁）
+     * @return 本地锁
+     */
+    public Lock getLocalLock(String lockKey, boolean shared) {
+        return localLocks.get(lockKey, shared);
+    }
+
     /**
      * 执行带锁的任务
      *
@@ -298,15 +450,27 @@ public class RedissonUtil {
      * @return 是否执行成功
      */
     public boolean executeWithLock(String lockKey, long waitTime, long leaseTime, TimeUnit timeUnit, Runnable task) {
-        if (tryLock(lockKey, waitTime, leaseTime, timeUnit)) {
-            try {
-                task.run();
-                return true;
-            } finally {
-                unlock(lockKey);
-            }
-        }
-        return false;
+        return executeWithLock(lockKey, waitTime, leaseTime, timeUnit, false, task);
+    }
+
+    /**
+     * 执行带锁的任务
+     *
+     * @param lockKey    锁的key
+     * @param waitTime   等待时间
+     * @param leaseTime  锁持有时间
+     * @param timeUnit   时间单位
+     * @param localFirst 是否先获取同名本地锁，见 {@link com.corki.common.annotation.RedissonLock#localFirst()}
+     * @param task       要执行的任务
+     * @return 是否执行成功
+     */
+    public boolean executeWithLock(String lockKey, long waitTime, long leaseTime, TimeUnit timeUnit,
+                                   boolean localFirst, Runnable task) {
+        Boolean executed = executeWithLock(lockKey, waitTime, leaseTime, timeUnit, localFirst, () -> {
+            task.run();
+            return Boolean.TRUE;
+        });
+        return executed != null;
     }
 
     /**
@@ -320,18 +484,68 @@ public class RedissonUtil {
      * @param <T>       返回值类型
      * @return 执行结果（如果获取锁失败返回null）
      */
-    public <T> T executeWithLock(String lockKey, long waitTime, long leaseTime, TimeUnit timeUnit, java.util.concurrent.Callable<T> task) {
-        if (tryLock(lockKey, waitTime, leaseTime, timeUnit)) {
+    public <T> T executeWithLock(String lockKey, long waitTime, long leaseTime, TimeUnit timeUnit, Callable<T> task) {
+        return executeWithLock(lockKey, waitTime, leaseTime, timeUnit, false, task);
+    }
+
+    /**
+     * 执行带锁的任务（返回结果）
+     *
+     * @param lockKey    锁的key
+     * @param waitTime   等待时间
+     * @param leaseTime  锁持有时间
+     * @param timeUnit   时间单位
+     * @param localFirst 是否先获取同名本地锁，本地排队时间计入等待时间
+     * @param task       要执行的任务
+     * @param <T>        返回值类型
+     * @return 执行结果（如果获取锁失败返回null）
+     */
+    public <T> T executeWithLock(String lockKey, long waitTime, long leaseTime, TimeUnit timeUnit,
+                                 boolean localFirst, Callable<T> task) {
+        Lock localLock = null;
+        long redisWaitTime = waitTime;
+        long redisLeaseTime = leaseTime;
+        TimeUnit redisTimeUnit = timeUnit;
+        if (localFirst) {
+            long start = System.nanoTime();
+            Lock candidate = getLocalLock(lockKey, false);
+            try {
+                if (!KeyedLocalLock.tryLock(candidate, waitTime, timeUnit)) {
+                    lockMetrics.timeout(LockMetrics.nameOf(lockKey), lockKey, start);
+                    return null;
+                }
+            } catch (InterruptedException e) {
+                lockMetrics.interrupted(LockMetrics.nameOf(lockKey), lockKey, start);
+                log.error("获取本地锁失败: {}", lockKey, e);
+                Thread.currentThread().interrupt();
+                return null;
+            }
+            localLock = candidate;
+            // 本地排队耗时计入等待时间，剩余部分用于竞争分布式锁
+            redisWaitTime = KeyedLocalLock.remainingMillis(waitTime, timeUnit, start);
+            redisLeaseTime = leaseTime < 0 ? leaseTime : timeUnit.toMillis(leaseTime);
+            redisTimeUnit = TimeUnit.MILLISECONDS;
+        }
+        try {
+            if (!tryLock(lockKey, redisWaitTime, redisLeaseTime, redisTimeUnit)) {
+                return null;
+            }
             try {
                 return task.call();
+            } catch (RuntimeException e) {
+                log.error("执行锁任务失败: {}", lockKey, e);
+                throw e;
             } catch (Exception e) {
                 log.error("执行锁任务失败: {}", lockKey, e);
                 throw new RuntimeException(e);
             } finally {
                 unlock(lockKey);
             }
+        } finally {
+            if (localLock != null) {
+                localLock.unlock();
+            }
         }
-        return null;
     }
 
     /**
@@ -353,10 +567,23 @@ public class RedissonUtil {
      * @param <T>     返回值类型
      * @return 执行结果（如果获取锁失败返回null）
      */
-    public <T> T executeWithLock(String lockKey, java.util.concurrent.Callable<T> task) {
+    public <T> T executeWithLock(String lockKey, Callable<T> task) {
         return executeWithLock(lockKey, 10, 30, TimeUnit.SECONDS, task);
     }
 
+    // =============================Bucket============================
+
+    /**
+     * 获取Bucket对象
+     *
+     * @param <V>  值类型
+     * @param name Bucket名称
+     * @return RBucket
+     */
+    public <V> RBucket<V> getBucket(String name) {
+        return redissonClient.getBucket(name);
+    }
+
     // =============================Map============================
 
     /**
@@ -614,18 +841,46 @@ public class RedissonUtil {
 
     // =============================Script============================
 
+    /**
+     * 执行注册的Lua脚本（classpath:lua/{name}.lua）
+     *
+     * @param <R>        返回值类型
+     * @param name       脚本名
+     * @param returnType 返回值类型
+     * @param keys       键列表
+     * @param values     值列表（按字符串传递）
+     * @return 执行结果
+     */
+    public <R> R evalScript(String name, RScript.ReturnType returnType, List<Object> keys, Object... values) {
+        return evalSha(luaScriptRegistry.getScript(name), returnType, keys, values);
+    }
+
+    /**
+     * 执行注册的Lua脚本（异步）
+     *
+     * @param <R>        返回值类型
+     * @param name       脚本名
+     * @param returnType 返回值类型
+     * @param keys       键列表
+     * @param values     值列表（按字符串传递）
+     * @return CompletableFuture
+     */
+    public <R> CompletableFuture<R> evalScriptAsync(String name, RScript.ReturnType returnType, List<Object> keys, Object... values) {
+        return evalShaAsync(luaScriptRegistry.getScript(name), returnType, keys, values);
+    }
+
     /**
      * 执行Lua脚本
+     * 优先 EVALSHA，脚本未缓存时退回 EVAL；参数与字符串结果均使用 StringCodec
      *
      * @param script Lua脚本
      * @param keys   键列表
      * @param values 值列表
      * @return 执行结果
      */
-//    public Object eval(String script, List<Object> keys, Object... values) {
-//        RScript rScript = redissonClient.getScript();
-//        return rScript.eval(RScript.Mode.READ_WRITE, script, keys, values);
-//    }
+    public Object eval(String script, List<Object> keys, Object... values) {
+        return evalSha(script, RScript.ReturnType.VALUE, keys, values);
+    }
 
     /**
      * 执行Lua脚本（返回指定类型）
@@ -637,27 +892,9 @@ public class RedissonUtil {
      * @param values     值列表
      * @return 执行结果
      */
-//    public <T> T eval(String script, Class<T> resultType, List<Object> keys, Object... values) {
-//        Object result = eval(script, keys, values);
-//        if (result != null) {
-//            if (resultType.isInstance(result)) {
-//                return resultType.cast(result);
-//            }
-//            // 尝试类型转换
-//            if (resultType == String.class) {
-//                return resultType.cast(result.toString());
-//            } else if (resultType == Long.class && result instanceof Number) {
-//                return resultType.cast(((Number) result).longValue());
-//            } else if (resultType == Integer.class && result instanceof Number) {
-//                return resultType.cast(((Number) result).intValue());
-//            } else if (resultType == Double.class && result instanceof Number) {
-//                return resultType.cast(((Number) result).doubleValue());
-//            } else if (resultType == Boolean.class) {
-//                return resultType.cast(Boolean.valueOf(result.toString()));
-//            }
-//        }
-//        return null;
-//    }
+    public <T> T eval(String script, Class<T> resultType, List<Object> keys, Object... values) {
+        return convert(eval(script, keys, values), resultType);
+    }
 
     /**
      * 执行Lua脚本（异步）
@@ -665,12 +902,11 @@ public class RedissonUtil {
      * @param script Lua脚本
      * @param keys   键列表
      * @param values 值列表
-     * @return RFuture
+     * @return CompletableFuture
      */
-//    public RFuture<Object> evalAsync(String script, List<Object> keys, Object... values) {
-//        RScript rScript = redissonClient.getScript();
-//        return rScript.evalAsync(RScript.Mode.READ_WRITE, script, keys, values);
-//    }
+    public CompletableFuture<Object> evalAsync(String script, List<Object> keys, Object... values) {
+        return evalShaAsync(script, RScript.ReturnType.VALUE, keys, values);
+    }
 
     /**
      * 执行Lua脚本（异步，返回指定类型）
@@ -680,31 +916,57 @@ public class RedissonUtil {
      * @param resultType 返回值类型
      * @param keys       键列表
      * @param values     值列表
-     * @return RFuture
+     * @return CompletableFuture
      */
-//    public <T> RFuture<T> evalAsync(String script, Class<T> resultType, List<Object> keys, Object... values) {
-//        RFuture<Object> future = evalAsync(script, keys, values);
-//        return future.thenApply(result -> {
-//            if (result != null) {
-//                if (resultType.isInstance(result)) {
-//                    return resultType.cast(result);
-//                }
-//                // 尝试类型转换
-//                if (resultType == String.class) {
-//                    return resultType.cast(result.toString());
-//                } else if (resultType == Long.class && result instanceof Number) {
-//                    return resultType.cast(((Number) result).longValue());
-//                } else if (resultType == Integer.class && result instanceof Number) {
-//                    return resultType.cast(((Number) result).intValue());
-//                } else if (resultType == Double.class && result instanceof Number) {
-//                    return resultType.cast(((Number) result).doubleValue());
-//                } else if (resultType == Boolean.class) {
-//                    return resultType.cast(Boolean.valueOf(result.toString()));
-//                }
-//            }
-//            return null;
-//        });
-//    }
+    public <T> CompletableFuture<T> evalAsync(String script, Class<T> resultType, List<Object> keys, Object... values) {
+        return evalAsync(script, keys, values).thenApply(result -> convert(result, resultType));
+    }
+
+    private <R> R evalSha(String script, RScript.ReturnType returnType, List<Object> keys, Object... values) {
+        RScript rScript = redissonClient.getScript(StringCodec.INSTANCE);
+        try {
+            return rScript.evalSha(RScript.Mode.READ_WRITE, luaScriptRegistry.sha1(script), returnType, keys, values);
+        } catch (RedisException e) {
+            if (!LuaScriptRegistry.isNoScript(e)) {
+                throw e;
+            }
+            // Redis 重启或切换后脚本缓存丢失，EVAL 会同时把脚本重新载入缓存
+            return rScript.eval(RScript.Mode.READ_WRITE, script, returnType, keys, values);
+        }
+    }
+
+    private <R> CompletableFuture<R> evalShaAsync(String script, RScript.ReturnType returnType, List<Object> keys, Object... values) {
+        RScript rScript = redissonClient.getScript(StringCodec.INSTANCE);
+        return rScript.<R>evalShaAsync(RScript.Mode.READ_WRITE, luaScriptRegistry.sha1(script), returnType, keys, values)
+                .toCompletableFuture()
+                .exceptionallyCompose(e -> {
+                    if (LuaScriptRegistry.isNoScript(e)) {
+                        return rScript.<R>evalAsync(RScript.Mode.READ_WRITE, script, returnType, keys, values).toCompletableFuture();
+                    }
+                    return CompletableFuture.failedFuture(e);
+                });
+    }
+
+    private static <T> T convert(Object result, Class<T> resultType) {
+        if (result != null) {
+            if (resultType.isInstance(result)) {
+                return resultType.cast(result);
+            }
+            // 尝试类型转换
+            if (resultType == String.class) {
+                return resultType.cast(result.toString());
+            } else if (resultType == Long.class && result instanceof Number) {
+                return resultType.cast(((Number) result).longValue());
+            } else if (resultType == Integer.class && result instanceof Number) {
+                return resultType.cast(((Number) result).intValue());
+            } else if (resultType == Double.class && result instanceof Number) {
+                return resultType.cast(((Number) result).doubleValue());
+            } else if (resultType == Boolean.class) {
+                return resultType.cast(Boolean.valueOf(result.toString()));
+            }
+        }
+        return null;
+    }
 
     // =============================Batch============================
 
@@ -712,11 +974,12 @@ public class RedissonUtil {
      * 批量操作
      *
      * @param consumer 批量操作消费者
+     * @return 按命令顺序排列的结果
      */
-    public void executeBatch(Consumer<RBatch> consumer) {
+    public BatchResult<?> executeBatch(Consumer<RBatch> consumer) {
         RBatch batch = redissonClient.createBatch();
         consumer.accept(batch);
-        batch.execute();
+        return batch.execute();
     }
 
     /**
@@ -0,0 +1,8 @@
+-- 推进资源栅栏令牌：令牌大于当前值时写入并返回1，否则返回0
+-- KEYS[1] 资源栅栏key  ARGV[1] 栅栏令牌
+local current = tonumber(redis.call('get', KEYS[1]) or '0')
+if tonumber(ARGV[1]) > current then
+    redis.call('set', KEYS[1], ARGV[1])
+    return 1
+end
+return 0
@@ -0,0 +1,6 @@
+-- 释放分布式锁：只有持有者（值相同）才能删除
+-- KEYS[1] 锁key  ARGV[1] 加锁时写入的值
+if redis.call('get', KEYS[1]) == ARGV[1] then
+    return redis.call('del', KEYS[1])
+end
+return 0
@@ -0,0 +1,98 @@
+package com.corki.common.auth;
+
+import com.corki.common.utils.RedissonUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.redisson.api.RAtomicLong;
+import org.redisson.api.RBucket;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * LoginCredentialCache 回填竞争测试
+ *
+ * @author Corki
+ * @since 2026-10-17
+ */
+class LoginCredentialCacheTest {
+
+    private final LoginCredentialCache cache = new LoginCredentialCache();
+
+    private final RedissonUtil redissonUtil = mock(RedissonUtil.class);
+
+    @SuppressWarnings("unchecked")
+    private final RBucket<LoginCredential> bucket = mock(RBucket.class);
+
+    private final RAtomicLong generation = mock(RAtomicLong.class);
+
+    private final AtomicLong generationValue = new AtomicLong();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(cache, "redissonUtil", redissonUtil);
+        ReflectionTestUtils.setField(cache, "localSeconds", 300L);
+        ReflectionTestUtils.setField(cache, "maximumSize", 100L);
+        ReflectionTestUtils.setField(cache, "redisSeconds", 1800L);
+        ReflectionTestUtils.setField(cache, "negativeSeconds", 30L);
+        when(redissonUtil.<LoginCredential>getBucket(any())).thenReturn(bucket);
+        when(redissonUtil.getAtomicLong(any())).thenReturn(generation);
+        when(generation.get()).thenAnswer(invocation -> generationValue.get());
+        when(generation.incrementAndGet()).thenAnswer(invocation -> generationValue.incrementAndGet());
+        cache.init();
+    }
+
+    @Test
+    void cachesLoadedCredentialWhenNotModified() {
+        LoginCredential credential = cache.get("admin", "alice", name -> credential("new"));
+
+        assertEquals("new", credential.getPassword());
+        verify(bucket).setIfAbsent(any(), eq(Duration.ofSeconds(1800)));
+        verify(bucket, never()).delete();
+    }
+
+    /**
+     * 查库期间凭证被修改：删除刚回填的旧值并重新查库
+     */
+    @Test
+    void reloadsWhenInvalidatedDuringLoad() {
+        AtomicInteger loads = new AtomicInteger();
+        LoginCredential credential = cache.get("admin", "alice", name -> {
+            if (loads.incrementAndGet() == 1) {
+                // 模拟其他请求在查库期间修改密码并失效缓存
+                generationValue.incrementAndGet();
+                return credential("old");
+            }
+            return credential("new");
+        });
+
+        assertEquals(2, loads.get());
+        assertEquals("new", credential.getPassword());
+        verify(bucket).delete();
+    }
+
+    @Test
+    void invalidateBumpsGenerationAndDropsEntries() {
+        cache.get("admin", "alice", name -> credential("old"));
+        cache.invalidate("admin", "alice");
+        LoginCredential credential = cache.get("admin", "alice", name -> credential("new"));
+
+        assertEquals(1, generationValue.get());
+        assertEquals("new", credential.getPassword());
+        verify(redissonUtil).publish(eq("login:credential:invalidate"), eq("admin:alice"));
+    }
+
+    private static LoginCredential credential(String password) {
+        LoginCredential credential = new LoginCredential();
+        credential.setId(1L);
+        credential.setUsername("alice");
+        credential.setPassword(password);
+        return credential;
+    }
+}
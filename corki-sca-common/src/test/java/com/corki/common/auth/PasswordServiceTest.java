@@ -0,0 +1,88 @@
+package com.corki.common.auth;
+
+import cn.dev33.satoken.secure.SaSecureUtil;
+import com.corki.common.exception.ServiceException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * PasswordService 校验、升级与背压测试
+ *
+ * @author Corki
+ * @since 2026-10-17
+ */
+class PasswordServiceTest {
+
+    private final PasswordService passwordService = new PasswordService();
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() throws Exception {
+        ReflectionTestUtils.setField(passwordService, "bcryptStrength", 4);
+        ReflectionTestUtils.setField(passwordService, "threads", 1);
+        ReflectionTestUtils.setField(passwordService, "queueSize", 1);
+        ReflectionTestUtils.setField(passwordService, "timeoutMillis", 3000L);
+        ReflectionTestUtils.setField(passwordService, "verifiedCacheSeconds", 300L);
+        ReflectionTestUtils.setField(passwordService, "verifiedCacheMaximumSize", 100L);
+        passwordService.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        passwordService.destroy();
+    }
+
+    @Test
+    void verifiesBcryptHash() {
+        String hash = passwordService.encode("secret");
+
+        assertEquals(PasswordCheck.MATCH, passwordService.verify("secret", hash));
+        assertEquals(PasswordCheck.MISMATCH, passwordService.verify("wrong", hash));
+    }
+
+    @Test
+    void upgradesLegacyMd5() {
+        PasswordCheck check = passwordService.verify("secret", SaSecureUtil.md5("secret"));
+
+        assertTrue(check.matched());
+        assertNotNull(check.upgradedHash());
+        assertEquals(PasswordCheck.MATCH, passwordService.verify("secret", check.upgradedHash()));
+        assertEquals(PasswordCheck.MISMATCH, passwordService.verify("wrong", SaSecureUtil.md5("secret")));
+    }
+
+    /**
+     * 哈希线程池已满：BCrypt 校验快速失败，正确的 MD5 密码仍可登录，只是本次不升级
+     */
+    @Test
+    void legacyMd5MatchesWhenPoolSaturated() {
+        saturate();
+
+        assertThrows(ServiceException.class, () -> passwordService.verify("secret", "$2a$04$abcdefghijklmnopqrstuu"));
+        assertEquals(PasswordCheck.MATCH, passwordService.verify("secret", SaSecureUtil.md5("secret")));
+    }
+
+    /**
+     * 占满唯一的线程与容量为 1 的队列
+     */
+    private void saturate() {
+        ThreadPoolExecutor executor = (ThreadPoolExecutor) ReflectionTestUtils.getField(passwordService, "executor");
+        Runnable blocker = () -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+        executor.execute(blocker);
+        executor.execute(blocker);
+    }
+}
@@ -0,0 +1,81 @@
+package com.corki.common.auth;
+
+import cn.dev33.satoken.util.SaFoxUtil;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * PermissionMatcher 与 Sa-Token 模糊匹配一致性测试
+ *
+ * @author Corki
+ * @since 2026-10-17
+ */
+class PermissionMatcherTest {
+
+    private static final List<String> PERMISSIONS = List.of(
+            "system", "system:user", "system:user:list", "system:user:add",
+            "system:user:dept:list", "system:role:list", "system:users:list",
+            "monitor:user:list", "system:", "", "system::list");
+
+    static Stream<Arguments> patterns() {
+        return Stream.of(
+                // 精确
+                Arguments.of("system:user:list"),
+                Arguments.of("system:user"),
+                // 末段 '*'
+                Arguments.of("system:*"),
+                Arguments.of("system:user:*"),
+                Arguments.of("system:user:list:*"),
+                // 中间 '*'（可跨越多个分段）
+                Arguments.of("system:*:list"),
+                Arguments.of("*:user:list"),
+                Arguments.of("system:*:*"),
+                // 段内 '*'
+                Arguments.of("system:us*"),
+                Arguments.of("system:us*:list"),
+                // 全部
+                Arguments.of("*"));
+    }
+
+    @ParameterizedTest
+    @MethodSource("patterns")
+    void matchesLikeVagueMatch(String pattern) {
+        PermissionMatcher matcher = PermissionMatcher.compile(List.of(pattern));
+        for (String permission : PERMISSIONS) {
+            assertEquals(SaFoxUtil.vagueMatch(pattern, permission), matcher.matches(permission),
+                    () -> pattern + " vs " + permission);
+        }
+    }
+
+    /**
+     * 多个模式组合时与逐个模糊匹配的结果一致
+     */
+    @Test
+    void matchesAnyLikeVagueMatch() {
+        List<String> patterns = new ArrayList<>();
+        patterns().forEach(arguments -> patterns.add((String) arguments.get()[0]));
+        for (int i = 0; i < patterns.size(); i++) {
+            List<String> subset = patterns.subList(0, i);
+            PermissionMatcher matcher = PermissionMatcher.compile(subset);
+            for (String permission : PERMISSIONS) {
+                boolean expected = subset.stream().anyMatch(pattern -> SaFoxUtil.vagueMatch(pattern, permission));
+                assertEquals(expected, matcher.matches(permission), () -> subset + " vs " + permission);
+            }
+        }
+    }
+
+    @Test
+    void ignoresNullAndEmpty() {
+        PermissionMatcher matcher = PermissionMatcher.compile(null);
+        assertFalse(matcher.matches("system:user:list"));
+        assertFalse(PermissionMatcher.compile(List.of("*")).matches(null));
+    }
+}
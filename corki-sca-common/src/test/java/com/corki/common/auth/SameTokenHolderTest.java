@@ -0,0 +1,108 @@
+package com.corki.common.auth;
+
+import cn.dev33.satoken.same.SaSameUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.MockedStatic;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * SameTokenHolder 轮换与重新加载测试
+ *
+ * @author Corki
+ * @since 2026-10-17
+ */
+class SameTokenHolderTest {
+
+    private final SameTokenHolder holder = new SameTokenHolder();
+
+    private final AtomicReference<String> current = new AtomicReference<>("t1");
+
+    private final AtomicReference<String> past = new AtomicReference<>();
+
+    private MockedStatic<SaSameUtil> sameUtil;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(holder, "missReloadIntervalMillis", 60_000L);
+        ReflectionTestUtils.setField(holder, "switchDelayMillis", 60_000L);
+        sameUtil = mockStatic(SaSameUtil.class);
+        sameUtil.when(SaSameUtil::getToken).thenAnswer(invocation -> current.get());
+        sameUtil.when(SaSameUtil::getPastTokenNh).thenAnswer(invocation -> past.get());
+        holder.reload();
+    }
+
+    @AfterEach
+    void tearDown() {
+        sameUtil.close();
+    }
+
+    /**
+     * 发现轮换后仍发送上一个 token，两个 token 都可通过校验
+     */
+    @Test
+    void keepsSendingPastTokenAfterRotation() {
+        assertEquals("t1", holder.getToken());
+
+        rotate("t2");
+        holder.reload();
+
+        assertEquals("t1", holder.getToken());
+        assertTrue(holder.isValid("t1"));
+        assertTrue(holder.isValid("t2"));
+
+        ReflectionTestUtils.setField(holder, "switchDelayMillis", 0L);
+        rotate("t3");
+        holder.reload();
+        assertEquals("t3", holder.getToken());
+    }
+
+    /**
+     * 重新加载进行中时，其他校验失败的请求等待同一次加载完成后再校验
+     */
+    @Test
+    void concurrentMissWaitsForInFlightReload() throws Exception {
+        CompletableFuture<Boolean> waiter = new CompletableFuture<>();
+        AtomicReference<Thread> waiterThread = new AtomicReference<>();
+        // 静态 mock 只对当前线程生效，由当前线程执行重新加载，另一个请求在加载过程中到达
+        sameUtil.when(SaSameUtil::getToken).thenAnswer(invocation -> {
+            Thread thread = new Thread(() -> waiter.complete(holder.reloadOnMiss() && holder.isValid("t2")));
+            waiterThread.set(thread);
+            thread.start();
+            while (thread.getState() != Thread.State.WAITING && !waiter.isDone()) {
+                Thread.yield();
+            }
+            return current.get();
+        });
+        rotate("t2");
+
+        assertTrue(holder.reloadOnMiss());
+        assertTrue(holder.isValid("t2"));
+        assertTrue(waiter.get(5, TimeUnit.SECONDS));
+        waiterThread.get().join();
+        sameUtil.verify(SaSameUtil::getToken, times(2));
+    }
+
+    /**
+     * 最小间隔内不再为无效 token 访问 Redis
+     */
+    @Test
+    void throttlesReloadForInvalidTokens() {
+        assertTrue(holder.reloadOnMiss());
+        assertFalse(holder.reloadOnMiss());
+        assertFalse(holder.isValid("forged"));
+    }
+
+    private void rotate(String next) {
+        past.set(current.get());
+        current.set(next);
+    }
+}
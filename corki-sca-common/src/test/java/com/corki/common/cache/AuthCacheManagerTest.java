@@ -0,0 +1,80 @@
+package com.corki.common.cache;
+
+import com.corki.common.utils.RedissonUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.redisson.api.RAtomicLong;
+import org.redisson.api.RBucket;
+import org.redisson.api.RedissonClient;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * AuthCacheManager 回填竞争测试
+ *
+ * @author Corki
+ * @since 2026-10-17
+ */
+class AuthCacheManagerTest {
+
+    private final AuthCacheManager manager = new AuthCacheManager();
+
+    private final RedissonUtil redissonUtil = mock(RedissonUtil.class);
+
+    private final RedissonClient redissonClient = mock(RedissonClient.class);
+
+    @SuppressWarnings("unchecked")
+    private final RBucket<AuthCacheEntry> bucket = mock(RBucket.class);
+
+    private final RAtomicLong generation = mock(RAtomicLong.class);
+
+    private final AtomicLong generationValue = new AtomicLong();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(manager, "redissonUtil", redissonUtil);
+        ReflectionTestUtils.setField(manager, "localMaximumSize", 100L);
+        ReflectionTestUtils.setField(manager, "expireSeconds", 1800L);
+        when(redissonUtil.getRedissonClient()).thenReturn(redissonClient);
+        when(redissonClient.<AuthCacheEntry>getBucket(any())).thenReturn(bucket);
+        when(redissonUtil.getAtomicLong(any())).thenReturn(generation);
+        when(generation.get()).thenAnswer(invocation -> generationValue.get());
+        manager.init();
+    }
+
+    @Test
+    void cachesLoadedRolesWhenNotModified() {
+        List<String> roles = manager.getRoles("admin", 1L, () -> List.of("admin"));
+
+        assertEquals(List.of("admin"), roles);
+        verify(bucket).set(any(), any());
+        verify(bucket, never()).delete();
+    }
+
+    /**
+     * 查库期间角色被回收：删除刚写回的旧值并重新查库
+     */
+    @Test
+    void reloadsWhenInvalidatedDuringLoad() {
+        AtomicInteger loads = new AtomicInteger();
+        List<String> roles = manager.getRoles("admin", 1L, () -> {
+            if (loads.incrementAndGet() == 1) {
+                // 模拟其他请求在查库期间修改角色并提交
+                generationValue.incrementAndGet();
+                return List.of("admin");
+            }
+            return List.of();
+        });
+
+        assertEquals(2, loads.get());
+        assertEquals(List.of(), roles);
+        verify(bucket).delete();
+    }
+}
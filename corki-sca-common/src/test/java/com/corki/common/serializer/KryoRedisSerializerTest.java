@@ -0,0 +1,80 @@
+package com.corki.common.serializer;
+
+import com.corki.common.auth.LoginCredential;
+import com.corki.common.config.RedisSerializerConfig;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * KryoRedisSerializer 白名单与体积测试
+ *
+ * @author Corki
+ * @since 2026-10-17
+ */
+class KryoRedisSerializerTest {
+
+    private final KryoRedisSerializer serializer = new KryoRedisSerializer();
+
+    @Test
+    void roundTripsAllowedTypes() {
+        Map<String, Object> value = new HashMap<>();
+        value.put("time", LocalDateTime.of(2026, 10, 17, 8, 0));
+        value.put("list", List.of(1L, "a"));
+        value.put("array", new String[]{"x"});
+
+        @SuppressWarnings("unchecked")
+        Map<String, Object> result = (Map<String, Object>) serializer.deserialize(serializer.serialize(value));
+
+        assertEquals(value.get("time"), result.get("time"));
+        assertEquals(value.get("list"), result.get("list"));
+        assertArrayEquals((String[]) value.get("array"), (String[]) result.get("array"));
+    }
+
+    @Test
+    void rejectsTypesOutsideAllowList() {
+        byte[] bytes = serializer.serialize(new StringBuilder("gadget"));
+
+        assertThrows(SerializationException.class, () -> serializer.deserialize(bytes));
+        assertEquals("gadget", new KryoRedisSerializer(List.of("java.lang.StringBuilder"))
+                .deserialize(bytes).toString());
+    }
+
+    /**
+     * 同一批缓存对象，Kryo 编码后体积小于默认的 JSON 编码，且两者都能还原（含 LocalDateTime）
+     */
+    @Test
+    void encodesSmallerThanJson() {
+        List<LoginCredential> value = new ArrayList<>();
+        for (long i = 1; i <= 20; i++) {
+            LoginCredential credential = new LoginCredential();
+            credential.setId(i);
+            credential.setUsername("user" + i);
+            credential.setPassword("$2a$10$abcdefghijklmnopqrstuv0123456789ABCDEFGHIJKLMNOPQRSTU");
+            credential.setStatus(0);
+            credential.setNickname("用户" + i);
+            credential.setDeptId(100L);
+            credential.setRegistrationTime(LocalDateTime.of(2026, 10, 17, 8, 0));
+            value.add(credential);
+        }
+        RedisSerializerConfig config = new RedisSerializerConfig();
+        ReflectionTestUtils.setField(config, "serializerType", "json");
+        RedisSerializer<Object> json = config.redisValueSerializer();
+
+        byte[] kryoBytes = serializer.serialize(value);
+        byte[] jsonBytes = json.serialize(value);
+
+        assertEquals(value, serializer.deserialize(kryoBytes));
+        assertEquals(value, json.deserialize(jsonBytes));
+        assertTrue(kryoBytes.length < jsonBytes.length, kryoBytes.length + " >= " + jsonBytes.length);
+    }
+}
@@ -0,0 +1,62 @@
+package com.corki.common.utils;
+
+import cn.dev33.satoken.context.SaTokenContextForThreadLocalStaff;
+import cn.dev33.satoken.context.mock.SaRequestForMock;
+import cn.dev33.satoken.context.mock.SaResponseForMock;
+import cn.dev33.satoken.context.mock.SaStorageForMock;
+import cn.dev33.satoken.context.model.SaRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * AsyncRequestExecutor 上下文传递测试
+ *
+ * @author Corki
+ * @since 2026-10-17
+ */
+class AsyncRequestExecutorTest {
+
+    private final AsyncRequestExecutor executor = new AsyncRequestExecutor();
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+        SaTokenContextForThreadLocalStaff.clearModelBox();
+        executor.destroy();
+    }
+
+    @Test
+    void runsOnVirtualThreadWithRequestContext() throws Exception {
+        ServletRequestAttributes attributes = new ServletRequestAttributes(new MockHttpServletRequest());
+        RequestContextHolder.setRequestAttributes(attributes);
+        SaRequest saRequest = new SaRequestForMock();
+        SaTokenContextForThreadLocalStaff.setModelBox(saRequest, new SaResponseForMock(), new SaStorageForMock());
+
+        Object[] seen = executor.supply(() -> new Object[]{
+                Thread.currentThread().isVirtual(),
+                RequestContextHolder.getRequestAttributes(),
+                SaTokenContextForThreadLocalStaff.getRequest()
+        }).get(5, TimeUnit.SECONDS);
+
+        assertEquals(true, seen[0]);
+        assertSame(attributes, seen[1]);
+        assertSame(saRequest, seen[2]);
+    }
+
+    @Test
+    void propagatesExceptions() {
+        Exception e = assertThrows(Exception.class, () -> executor.<RequestAttributes>supply(() -> {
+            throw new IllegalStateException("boom");
+        }).get(5, TimeUnit.SECONDS));
+
+        assertInstanceOf(IllegalStateException.class, e.getCause());
+    }
+}
@@ -0,0 +1,100 @@
+package com.corki.common.utils;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * RedisBatch 结果对应测试
+ *
+ * @author Corki
+ * @since 2026-10-17
+ */
+class RedisBatchTest {
+
+    /**
+     * Redisson 连接：SET、SETEX、HMSET 的回复从管道结果中移除
+     */
+    @Test
+    void mapsResultsWhenConnectionDropsReplies() {
+        RedisBatch batch = new RedisBatch(pipelineReturning(Arrays.asList("vb", 6L, "vh", true, 2L)));
+        RedisBatch.Response<Void> setA = batch.set("a", "1");
+        RedisBatch.Response<Object> getB = batch.get("b");
+        RedisBatch.Response<Long> incrC = batch.incr("c", 1);
+        RedisBatch.Response<Void> setD = batch.set("d", "2", 60, TimeUnit.SECONDS);
+        RedisBatch.Response<Object> hget = batch.hget("h", "f");
+        RedisBatch.Response<Void> hmset = batch.hmset("m", Map.of("f", "v"), 60, TimeUnit.SECONDS);
+        RedisBatch.Response<Long> sSet = batch.sSet("s", "x", "y");
+
+        batch.execute();
+
+        assertNull(setA.get());
+        assertEquals("vb", getB.get());
+        assertEquals(6L, incrC.get());
+        assertNull(setD.get());
+        assertEquals("vh", hget.get());
+        assertNull(hmset.get());
+        assertEquals(2L, sSet.get());
+    }
+
+    /**
+     * Lettuce 连接：每个命令都有回复
+     */
+    @Test
+    void mapsResultsWhenConnectionKeepsAllReplies() {
+        RedisBatch batch = new RedisBatch(pipelineReturning(Arrays.asList(true, "vb", 3L, true)));
+        RedisBatch.Response<Void> setA = batch.set("a", "1");
+        RedisBatch.Response<Object> getB = batch.get("b");
+        RedisBatch.Response<Long> incrC = batch.incr("c", 1);
+        RedisBatch.Response<Void> setD = batch.set("d", "2");
+
+        batch.execute();
+
+        assertNull(setA.get());
+        assertEquals("vb", getB.get());
+        assertEquals(3L, incrC.get());
+        assertNull(setD.get());
+    }
+
+    @Test
+    void rejectsUnexpectedResultCount() {
+        RedisBatch batch = new RedisBatch(pipelineReturning(List.of("vb")));
+        batch.set("a", "1");
+        batch.get("b");
+        batch.incr("c", 1);
+
+        assertThrows(IllegalStateException.class, batch::execute);
+    }
+
+    @Test
+    void responseBeforeExecuteFails() {
+        RedisBatch batch = new RedisBatch(pipelineReturning(List.of("vb")));
+        RedisBatch.Response<Object> getB = batch.get("b");
+
+        assertThrows(IllegalStateException.class, getB::get);
+        batch.execute();
+        assertEquals("vb", getB.get());
+        assertThrows(IllegalStateException.class, () -> batch.get("c"));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static RedisTemplate<String, Object> pipelineReturning(List<Object> results) {
+        RedisTemplate<String, Object> redisTemplate = mock(RedisTemplate.class);
+        RedisOperations<String, Object> operations = mock(RedisOperations.class, RETURNS_DEEP_STUBS);
+        when(redisTemplate.executePipelined(any(SessionCallback.class))).thenAnswer(invocation -> {
+            invocation.getArgument(0, SessionCallback.class).execute(operations);
+            return results;
+        });
+        return redisTemplate;
+    }
+}
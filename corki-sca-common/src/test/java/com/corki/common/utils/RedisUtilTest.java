@@ -0,0 +1,79 @@
+package com.corki.common.utils;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisSystemException;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * RedisUtil 并发模糊删除测试
+ *
+ * @author Corki
+ * @since 2026-10-17
+ */
+class RedisUtilTest {
+
+    private final RedisUtil redisUtil = new RedisUtil();
+
+    @SuppressWarnings("unchecked")
+    private final RedisTemplate<String, Object> redisTemplate = mock(RedisTemplate.class);
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        ReflectionTestUtils.setField(redisUtil, "redisTemplate", redisTemplate);
+        List<String> keys = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            keys.add("k" + i);
+        }
+        when(redisTemplate.scan(any(ScanOptions.class))).thenAnswer(invocation -> cursor(keys.iterator()));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void deletesAllBatchesInParallel() {
+        when(redisTemplate.unlink(any(Collection.class)))
+                .thenAnswer(invocation -> (long) invocation.getArgument(0, Collection.class).size());
+
+        assertEquals(10, redisUtil.delByPattern("k*", 3, 2));
+        verify(redisTemplate, times(4)).unlink(any(Collection.class));
+    }
+
+    /**
+     * 某个批次删除失败：其余批次照常执行，结束后抛出异常而不是返回部分计数
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    void rethrowsBatchFailure() {
+        when(redisTemplate.unlink(any(Collection.class))).thenAnswer(invocation -> {
+            Collection<String> batch = invocation.getArgument(0, Collection.class);
+            if (batch.contains("k4")) {
+                throw new RedisSystemException("unlink failed", new IllegalStateException());
+            }
+            return (long) batch.size();
+        });
+
+        assertThrows(RedisSystemException.class, () -> redisUtil.delByPattern("k*", 3, 2));
+        verify(redisTemplate, times(4)).unlink(any(Collection.class));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Cursor<String> cursor(Iterator<String> keys) {
+        Cursor<String> cursor = mock(Cursor.class);
+        when(cursor.hasNext()).thenAnswer(invocation -> keys.hasNext());
+        when(cursor.next()).thenAnswer(invocation -> keys.next());
+        return cursor;
+    }
+}
@@ -0,0 +1,55 @@
+package com.corki.gateway.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 网关缓存的 GET 响应
+ *
+ * @author Corki
+ * @since 2026-10-17
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CachedResponse implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 状态码
+     */
+    private int status;
+
+    /**
+     * 需要回放的响应头（Content-Type 等）
+     */
+    private Map<String, List<String>> headers;
+
+    /**
+     * 响应体
+     */
+    private byte[] body;
+
+    /**
+     * 响应体摘要，作为 ETag
+     */
+    private String etag;
+
+    /**
+     * 新鲜期截止时间（毫秒时间戳）
+     */
+    private long freshUntil;
+
+    /**
+     * 可返回旧响应的截止时间（毫秒时间戳）
+     */
+    private long staleUntil;
+}
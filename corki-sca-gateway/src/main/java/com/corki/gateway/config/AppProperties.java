@@ -13,4 +13,215 @@ import java.util.List;
 public class AppProperties {
 
     private List<String> excludePaths = new ArrayList<>();
+
+    /**
+     * 网关前的可信反向代理层数，按 X-Forwarded-For 从右向左只信任这么多条；0 表示不信任该请求头，直接使用 TCP 对端地址
+     */
+    private int trustedProxies = 0;
+
+    /**
+     * 登录校验配置
+     */
+    private Auth auth = new Auth();
+
+    /**
+     * 限流配置
+     */
+    private RateLimit rateLimit = new RateLimit();
+
+    /**
+     * 响应缓存配置
+     */
+    private ResponseCache responseCache = new ResponseCache();
+
+    @Data
+    public static class Auth {
+
+        /**
+         * 已校验 token 的本地缓存时间（秒），注销等操作通过 Topic 主动失效
+         */
+        private long localCacheSeconds = 10;
+
+        /**
+         * 本地缓存最大 token 数
+         */
+        private long localCacheMaximumSize = 100000;
+
+        /**
+         * 查询 token 的线程数上限
+         */
+        private int schedulerThreads = 32;
+
+        /**
+         * 查询 token 的排队任务上限，超出后直接拒绝，避免 Redis 变慢时请求无限堆积
+         */
+        private int schedulerQueueSize = 10000;
+
+        /**
+         * 是否在网关按路由权限表（由 admin 根据菜单生成）校验权限
+         */
+        private boolean routePermission = false;
+    }
+
+    @Data
+    public static class RateLimit {
+
+        /**
+         * 是否开启限流
+         */
+        private boolean enabled = false;
+
+        /**
+         * Redis 不可用时是否放行
+         */
+        private boolean failOpen = true;
+
+        /**
+         * 限流规则，同一请求命中的所有规则都需通过
+         */
+        private List<RateLimitRule> rules = new ArrayList<>();
+    }
+
+    @Data
+    public static class RateLimitRule {
+
+        /**
+         * 路由ID，* 表示所有路由
+         */
+        private String routeId = "*";
+
+        /**
+         * 路径匹配（可选，Ant 风格，匹配网关收到的原始路径）
+         */
+        private String path;
+
+        /**
+         * 限流算法
+         */
+        private RateLimitMode mode = RateLimitMode.TOKEN_BUCKET;
+
+        /**
+         * 限流维度
+         */
+        private RateLimitKeyType keyType = RateLimitKeyType.IP;
+
+        /**
+         * 令牌桶容量 / 滑动窗口内最大请求数
+         */
+        private long limit = 100;
+
+        /**
+         * 令牌桶每秒补充令牌数，必须大于 0
+         */
+        private double refillPerSecond = 50;
+
+        /**
+         * 滑动窗口长度（毫秒）
+         */
+        private long windowMillis = 1000;
+
+        /**
+         * 本地优先：每次从 Redis 预取一批配额在本地消费，适用于热点路径，限流精度换取 Redis 调用次数
+         */
+        private boolean localFirst = false;
+
+        /**
+         * 本地优先模式下每次预取的配额数
+         */
+        private int localBatch = 10;
+    }
+
+    public enum RateLimitMode {
+        /**
+         * 令牌桶，允许 limit 大小的突发
+         */
+        TOKEN_BUCKET,
+        /**
+         * 滑动窗口
+         */
+        SLIDING_WINDOW
+    }
+
+    public enum RateLimitKeyType {
+        /**
+         * 按路由
+         */
+        ROUTE,
+        /**
+         * 按客户端IP
+         */
+        IP,
+        /**
+         * 按登录用户，未登录时按IP
+         */
+        USER
+    }
+
+    @Data
+    public static class ResponseCache {
+
+        /**
+         * 是否开启响应缓存
+         */
+        private boolean enabled = false;
+
+        /**
+         * 本地缓存占用上限（字节）
+         */
+        private long localMaximumBytes = 64 * 1024 * 1024;
+
+        /**
+         * 单个响应体上限（字节），超过不缓存
+         */
+        private int maxBodyBytes = 1024 * 1024;
+
+        /**
+         * 缓存规则，按顺序取第一条命中的规则
+         */
+        private List<ResponseCacheRule> rules = new ArrayList<>();
+    }
+
+    @Data
+    public static class ResponseCacheRule {
+
+        /**
+         * 路由ID，* 表示所有路由
+         */
+        private String routeId = "*";
+
+        /**
+         * 路径匹配（可选，Ant 风格，匹配网关收到的原始路径）
+         */
+        private String path;
+
+        /**
+         * 新鲜期（秒），期内直接返回缓存
+         */
+        private long ttlSeconds = 60;
+
+        /**
+         * 过期后仍可返回旧响应的时长（秒），期间在后台重新请求刷新缓存
+         */
+        private long staleSeconds = 0;
+
+        /**
+         * 缓存隔离维度
+         */
+        private ResponseCacheScope scope = ResponseCacheScope.PUBLIC;
+    }
+
+    public enum ResponseCacheScope {
+        /**
+         * 所有请求共享
+         */
+        PUBLIC,
+        /**
+         * 按登录用户隔离，未登录请求不缓存
+         */
+        USER,
+        /**
+         * 按登录用户的角色组合隔离，角色未缓存时不缓存
+         */
+        ROLE
+    }
 }
@@ -4,11 +4,8 @@ import cn.dev33.satoken.exception.NotLoginException;
 import cn.dev33.satoken.exception.NotPermissionException;
 import cn.dev33.satoken.exception.NotRoleException;
 import cn.dev33.satoken.reactor.filter.SaReactorFilter;
-import cn.dev33.satoken.router.SaRouter;
 import cn.dev33.satoken.util.SaResult;
 import com.corki.common.enums.ResponseEnum;
-import com.corki.common.utils.StpAdminUtil;
-import com.corki.common.utils.StpMemberUtil;
 import jakarta.annotation.Resource;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Bean;
@@ -39,11 +36,7 @@ public class SaTokenConfigure {
                 .setExcludeList(appProperties.getExcludePaths())
                 // 鉴权方法：每次访问进入
                 .setAuth(obj -> {
-                    // 根据路径前缀进行不同的认证处理
-                    // 管理后台认证 - 检查是否登录
-                    SaRouter.match("/admin/**", r -> StpAdminUtil.checkLogin())
-                            // 会员端认证 - 检查是否登录
-                            .match("/member/**", r -> StpMemberUtil.checkLogin());
+                    // 登录校验由 TokenAuthFilter 完成（本地缓存 + 独立线程池查询），避免在事件循环线程上阻塞访问 Redis
 
                     // 权限认证 - 可选，根据业务需求开启
                     // 例如：SaRouter.match("/admin/system/user/**", r -> StpAdminUtil.checkPermission("system:user:list"));
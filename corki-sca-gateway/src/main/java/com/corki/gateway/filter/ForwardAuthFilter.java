@@ -1,9 +1,12 @@
 package com.corki.gateway.filter;
 
 import cn.dev33.satoken.same.SaSameUtil;
+import com.corki.common.auth.SameTokenHolder;
+import com.corki.common.utils.ClientIpUtil;
+import com.corki.gateway.utils.ClientIpResolver;
+import jakarta.annotation.Resource;
 import org.springframework.cloud.gateway.filter.GatewayFilterChain;
 import org.springframework.cloud.gateway.filter.GlobalFilter;
-import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.stereotype.Component;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
@@ -11,21 +14,32 @@ import reactor.core.publisher.Mono;
 /**
  * 前置认证过滤器
  *  为请求添加Same-Token, 在子服务中验证来实现内外网隔离
+ *  Same-Token 取自本地 {@link SameTokenHolder}，不访问 Redis
+ *  同时写入按可信代理解析的客户端IP（{@link ClientIpUtil#HEADER}），覆盖外部传入的同名请求头
  *
  * @author Corki
  * @date 2025/12/25
  */
 @Component
 public class ForwardAuthFilter implements GlobalFilter {
+
+    @Resource
+    private SameTokenHolder sameTokenHolder;
+
+    @Resource
+    private ClientIpResolver clientIpResolver;
+
     @Override
     public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
-        ServerHttpRequest newRequest = exchange
-                .getRequest()
-                .mutate()
-                // 为请求追加 Same-Token 参数
-                .header(SaSameUtil.SAME_TOKEN, SaSameUtil.getToken())
+        String sameToken = sameTokenHolder.getToken();
+        String clientIp = clientIpResolver.resolve(exchange);
+        // 为请求追加 Same-Token 与客户端IP，请求与 exchange 在同一个构建器中完成修改
+        ServerWebExchange newExchange = exchange.mutate()
+                .request(builder -> builder.headers(headers -> {
+                    headers.set(SaSameUtil.SAME_TOKEN, sameToken);
+                    headers.set(ClientIpUtil.HEADER, clientIp);
+                }))
                 .build();
-        ServerWebExchange newExchange = exchange.mutate().request(newRequest).build();
         return chain.filter(newExchange);
     }
 }
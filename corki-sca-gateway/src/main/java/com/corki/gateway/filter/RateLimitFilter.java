@@ -0,0 +1,217 @@
+package com.corki.gateway.filter;
+
+import cn.hutool.core.util.StrUtil;
+import com.corki.common.enums.ResponseEnum;
+import com.corki.common.utils.RedissonUtil;
+import com.corki.gateway.config.AppProperties;
+import com.corki.gateway.config.AppProperties.RateLimitRule;
+import com.corki.gateway.utils.ClientIpResolver;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RScript;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 网关限流过滤器
+ * 按 app.rateLimit.rules 为命中的路由限流，每条规则每次请求只执行一次 Lua 脚本（令牌桶或滑动窗口），
+ * 判定在 Redis 中原子完成，所有网关节点共享同一配额。
+ * localFirst 规则每次从 Redis 预取一批配额在本地消费，热点路径上 Redis 调用次数降为 1/localBatch，
+ * 代价是节点间配额分配不均、未用完的本地配额在过期后作废。
+ *
+ * @author Corki
+ * @since 2026-10-17
+ */
+@Slf4j
+@Component
+public class RateLimitFilter implements GlobalFilter, Ordered {
+
+    private static final String KEY_PREFIX = "rate_limit:";
+
+    private static final String SCRIPT_TOKEN_BUCKET = "rate_limit_token_bucket";
+
+    private static final String SCRIPT_SLIDING_WINDOW = "rate_limit_sliding_window";
+
+    private static final long REJECTED = -1;
+
+    @Resource
+    private AppProperties appProperties;
+
+    @Resource
+    private RedissonUtil redissonUtil;
+
+    @Resource
+    private ClientIpResolver clientIpResolver;
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    /**
+     * 本地优先模式下预取的剩余配额
+     */
+    private final Cache<String, AtomicLong> localPermits = Caffeine.newBuilder()
+            .maximumSize(100000)
+            .expireAfterAccess(Duration.ofMinutes(1))
+            .build();
+
+    /**
+     * 启动时校验规则，令牌桶补充速率不大于 0 时脚本计算过期时间除零报错，请求会按 failOpen 全部放行或全部拒绝
+     */
+    @PostConstruct
+    public void validateRules() {
+        List<RateLimitRule> rules = appProperties.getRateLimit().getRules();
+        for (int i = 0; i < rules.size(); i++) {
+            RateLimitRule rule = rules.get(i);
+            if (rule.getLimit() <= 0) {
+                throw new IllegalArgumentException("app.rateLimit.rules[" + i + "].limit 必须大于 0");
+            }
+            if (rule.getMode() == AppProperties.RateLimitMode.TOKEN_BUCKET && !(rule.getRefillPerSecond() > 0)) {
+                throw new IllegalArgumentException("app.rateLimit.rules[" + i + "].refillPerSecond 必须大于 0");
+            }
+            if (rule.getMode() == AppProperties.RateLimitMode.SLIDING_WINDOW && rule.getWindowMillis() <= 0) {
+                throw new IllegalArgumentException("app.rateLimit.rules[" + i + "].windowMillis 必须大于 0");
+            }
+        }
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        AppProperties.RateLimit config = appProperties.getRateLimit();
+        if (!config.isEnabled() || config.getRules().isEmpty()) {
+            return chain.filter(exchange);
+        }
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        String routeId = route != null ? route.getId() : "";
+        String path = exchange.getRequest().getPath().value();
+
+        List<RateLimitRule> rules = config.getRules();
+        List<Mono<Boolean>> checks = new ArrayList<>();
+        for (int i = 0; i < rules.size(); i++) {
+            RateLimitRule rule = rules.get(i);
+            if (matches(rule, routeId, path)) {
+                String prefix = KEY_PREFIX + i + ":" + routeId + ":";
+                checks.add(acquire(rule, prefix + resolveKey(exchange, rule), config.isFailOpen()));
+            }
+        }
+        if (checks.isEmpty()) {
+            return chain.filter(exchange);
+        }
+        return Flux.concat(checks)
+                .all(Boolean::booleanValue)
+                .flatMap(allowed -> allowed ? chain.filter(exchange) : reject(exchange, path));
+    }
+
+    @Override
+    public int getOrder() {
+        // 在转发前尽早拦截
+        return -100;
+    }
+
+    private boolean matches(RateLimitRule rule, String routeId, String path) {
+        if (!"*".equals(rule.getRouteId()) && !rule.getRouteId().equals(routeId)) {
+            return false;
+        }
+        return StrUtil.isBlank(rule.getPath()) || pathMatcher.match(rule.getPath(), path);
+    }
+
+    /**
+     * 解析限流维度对应的key
+     * 用户维度直接使用 TokenAuthFilter 认证后写入的登录信息，未登录（白名单路径）时按IP限流
+     */
+    private String resolveKey(ServerWebExchange exchange, RateLimitRule rule) {
+        return switch (rule.getKeyType()) {
+            case ROUTE -> "route";
+            case IP -> "ip:" + clientIpResolver.resolve(exchange);
+            case USER -> {
+                String loginType = exchange.getAttribute(TokenAuthFilter.LOGIN_TYPE_ATTR);
+                Object loginId = exchange.getAttribute(TokenAuthFilter.LOGIN_ID_ATTR);
+                yield loginId != null
+                        ? "user:" + loginType + ":" + loginId
+                        : "ip:" + clientIpResolver.resolve(exchange);
+            }
+        };
+    }
+
+    private Mono<Boolean> acquire(RateLimitRule rule, String key, boolean failOpen) {
+        if (!rule.isLocalFirst()) {
+            return acquireRemote(rule, key, 1, failOpen).map(remaining -> remaining != REJECTED);
+        }
+        AtomicLong permits = localPermits.get(key, k -> new AtomicLong());
+        if (tryTakeLocal(permits)) {
+            return Mono.just(true);
+        }
+        int batch = Math.max(1, rule.getLocalBatch());
+        return acquireRemote(rule, key, batch, failOpen).flatMap(remaining -> {
+            if (remaining != REJECTED) {
+                // 本次请求消耗一个，其余留给本节点后续请求
+                permits.addAndGet(batch - 1);
+                return Mono.just(true);
+            }
+            if (batch == 1) {
+                return Mono.just(false);
+            }
+            // 剩余配额不足一批时退回逐个申请
+            return acquireRemote(rule, key, 1, failOpen).map(single -> single != REJECTED);
+        });
+    }
+
+    /**
+     * 执行限流脚本
+     *
+     * @return 剩余配额，被拒绝返回 -1
+     */
+    private Mono<Long> acquireRemote(RateLimitRule rule, String key, long permits, boolean failOpen) {
+        return Mono.fromFuture(() -> switch (rule.getMode()) {
+                    case TOKEN_BUCKET -> redissonUtil.<Long>evalScriptAsync(SCRIPT_TOKEN_BUCKET, RScript.ReturnType.INTEGER,
+                            List.of(key), rule.getLimit(), rule.getRefillPerSecond(), permits);
+                    case SLIDING_WINDOW -> redissonUtil.<Long>evalScriptAsync(SCRIPT_SLIDING_WINDOW, RScript.ReturnType.INTEGER,
+                            List.of(key), rule.getLimit(), rule.getWindowMillis(), permits);
+                })
+                .onErrorResume(e -> {
+                    log.warn("限流脚本执行失败，key: {}, 放行: {}", key, failOpen, e);
+                    return Mono.just(failOpen ? 0L : REJECTED);
+                });
+    }
+
+    private boolean tryTakeLocal(AtomicLong permits) {
+        long current;
+        do {
+            current = permits.get();
+            if (current <= 0) {
+                return false;
+            }
+        } while (!permits.compareAndSet(current, current - 1));
+        return true;
+    }
+
+    private Mono<Void> reject(ServerWebExchange exchange, String path) {
+        log.debug("请求被限流: {}", path);
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        String body = String.format("{\"code\":%d,\"message\":\"%s\",\"data\":null}",
+                ResponseEnum.TOO_MANY_REQUESTS.getCode(), ResponseEnum.TOO_MANY_REQUESTS.getMsg());
+        DataBuffer buffer = response.bufferFactory().wrap(body.getBytes(StandardCharsets.UTF_8));
+        return response.writeWith(Mono.just(buffer));
+    }
+}
@@ -0,0 +1,411 @@
+package com.corki.gateway.filter;
+
+import cn.hutool.core.util.IdUtil;
+import cn.hutool.core.util.StrUtil;
+import cn.hutool.crypto.SecureUtil;
+import com.corki.common.auth.CompiledPermissionList;
+import com.corki.common.cache.AuthCacheManager;
+import com.corki.common.utils.RedissonUtil;
+import com.corki.gateway.cache.CachedResponse;
+import com.corki.gateway.config.AppProperties;
+import com.corki.gateway.config.AppProperties.ResponseCacheRule;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.reactivestreams.Publisher;
+import org.redisson.api.RBucket;
+import org.springframework.boot.web.reactive.context.ReactiveWebServerInitializedEvent;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * 网关 GET 响应缓存
+ * 按 app.responseCache.rules 缓存命中路由的 200 响应，两级存储：本地 Caffeine（按响应体字节数限制总量）+ Redis（所有网关节点共享）。
+ * <ul>
+ *     <li>缓存 key 由路由、路径、排序后的查询参数、{@link #KEYED_REQUEST_HEADERS} 的取值以及可选的用户/角色维度组成，
+ *     用户/角色维度带上权限版本号，菜单、角色变更后旧条目不再命中</li>
+ *     <li>响应体 MD5 作为 ETag，请求携带匹配的 If-None-Match 时返回 304</li>
+ *     <li>超过新鲜期但仍在 staleSeconds 内时先返回旧响应，再由后台发起一次带内部标记的请求刷新缓存</li>
+ * </ul>
+ * 带 Set-Cookie、Cache-Control: no-store/private、Content-Encoding 的响应不缓存；
+ * Vary 中除 Accept-Encoding 外只能包含已计入 key 的请求头，否则不缓存。
+ * 响应体超过 maxBodyBytes 时不再缓冲，已读取的部分与剩余部分直接透传。
+ *
+ * @author Corki
+ * @since 2026-10-17
+ */
+@Slf4j
+@Component
+public class ResponseCacheFilter implements GlobalFilter, Ordered {
+
+    private static final String KEY_PREFIX = "gateway:response:";
+
+    private static final String CACHE_STATUS_HEADER = "X-Cache";
+
+    /**
+     * 后台刷新请求的标记头，值为进程启动时生成的随机串，外部请求无法伪造
+     */
+    private static final String REVALIDATE_HEADER = "X-Cache-Revalidate";
+
+    private static final List<String> REPLAY_HEADERS = List.of(
+            HttpHeaders.CONTENT_TYPE, HttpHeaders.CONTENT_LANGUAGE, HttpHeaders.VARY);
+
+    /**
+     * 计入缓存 key 的请求头，响应按这些请求头 Vary 时仍可缓存
+     */
+    private static final List<String> KEYED_REQUEST_HEADERS = List.of(HttpHeaders.ORIGIN, HttpHeaders.ACCEPT,
+            HttpHeaders.ACCEPT_LANGUAGE, HttpHeaders.ACCESS_CONTROL_REQUEST_METHOD,
+            HttpHeaders.ACCESS_CONTROL_REQUEST_HEADERS);
+
+    @Resource
+    private AppProperties appProperties;
+
+    @Resource
+    private RedissonUtil redissonUtil;
+
+    @Resource
+    private AuthCacheManager authCacheManager;
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    private final String revalidateSecret = IdUtil.fastSimpleUUID();
+
+    /**
+     * 正在后台刷新的缓存 key，同一 key 同时只刷新一次
+     */
+    private final Set<String> revalidating = ConcurrentHashMap.newKeySet();
+
+    private final WebClient webClient = WebClient.create();
+
+    private Cache<String, CachedResponse> localCache;
+
+    private volatile int localPort;
+
+    @PostConstruct
+    public void init() {
+        localCache = Caffeine.newBuilder()
+                .maximumWeight(appProperties.getResponseCache().getLocalMaximumBytes())
+                .weigher((String key, CachedResponse value) -> value.getBody().length + key.length())
+                .expireAfter(new StaleExpiry())
+                .build();
+    }
+
+    @EventListener
+    public void onWebServerInitialized(ReactiveWebServerInitializedEvent event) {
+        localPort = event.getWebServer().getPort();
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        AppProperties.ResponseCache config = appProperties.getResponseCache();
+        ServerHttpRequest request = exchange.getRequest();
+        if (!config.isEnabled() || request.getMethod() != HttpMethod.GET) {
+            return chain.filter(exchange);
+        }
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        String routeId = route != null ? route.getId() : "";
+        String path = request.getPath().value();
+        ResponseCacheRule rule = findRule(config.getRules(), routeId, path);
+        if (rule == null) {
+            return chain.filter(exchange);
+        }
+        boolean revalidation = revalidateSecret.equals(request.getHeaders().getFirst(REVALIDATE_HEADER));
+        return resolveScope(exchange, rule).flatMap(scope -> {
+            if (scope.isEmpty()) {
+                return chain.filter(exchange);
+            }
+            String key = KEY_PREFIX + routeId + ":" + SecureUtil.md5(scope.get() + "|" + path + "?" + sortedQuery(request)
+                    + "|" + keyedHeaders(request));
+            if (revalidation) {
+                return fetchAndStore(exchange, chain, rule, key);
+            }
+            return lookup(key).flatMap(entry -> {
+                long now = System.currentTimeMillis();
+                if (entry.isPresent() && now < entry.get().getFreshUntil()) {
+                    return serve(exchange, entry.get(), "HIT");
+                }
+                if (entry.isPresent() && now < entry.get().getStaleUntil()) {
+                    revalidate(request, key);
+                    return serve(exchange, entry.get(), "STALE");
+                }
+                return fetchAndStore(exchange, chain, rule, key);
+            });
+        });
+    }
+
+    @Override
+    public int getOrder() {
+        // 在限流之后、NettyWriteResponseFilter（-1）之前，保证响应写出经过装饰器
+        return -50;
+    }
+
+    private ResponseCacheRule findRule(List<ResponseCacheRule> rules, String routeId, String path) {
+        for (ResponseCacheRule rule : rules) {
+            if (("*".equals(rule.getRouteId()) || rule.getRouteId().equals(routeId))
+                    && (StrUtil.isBlank(rule.getPath()) || pathMatcher.match(rule.getPath(), path))) {
+                return rule;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 解析缓存隔离维度，返回空表示本次请求不缓存
+     */
+    private Mono<Optional<String>> resolveScope(ServerWebExchange exchange, ResponseCacheRule rule) {
+        String loginType = exchange.getAttribute(TokenAuthFilter.LOGIN_TYPE_ATTR);
+        Object loginId = exchange.getAttribute(TokenAuthFilter.LOGIN_ID_ATTR);
+        return switch (rule.getScope()) {
+            case PUBLIC -> Mono.just(Optional.of("public"));
+            case USER -> Mono.just(loginId == null ? Optional.empty()
+                    : Optional.of("user:" + loginType + ":" + loginId + ":v" + authCacheManager.getVersion()));
+            case ROLE -> {
+                if (loginId == null) {
+                    yield Mono.just(Optional.empty());
+                }
+                CompiledPermissionList local = authCacheManager.getLocalRoles(loginType, loginId);
+                if (local != null) {
+                    yield Mono.just(Optional.of(roleScope(loginType, local)));
+                }
+                // 本地未命中时读取 Redis 缓存，放到弹性线程池避免阻塞事件循环
+                yield Mono.fromCallable(() -> Optional.ofNullable(authCacheManager.getCachedRoles(loginType, loginId))
+                                .map(roles -> roleScope(loginType, roles)))
+                        .subscribeOn(Schedulers.boundedElastic());
+            }
+        };
+    }
+
+    private String roleScope(String loginType, List<String> roles) {
+        List<String> sorted = new ArrayList<>(roles);
+        sorted.sort(null);
+        return "role:" + loginType + ":" + String.join(",", sorted) + ":v" + authCacheManager.getVersion();
+    }
+
+    /**
+     * 排序后的查询参数，参数顺序不同的相同请求共用缓存
+     */
+    private String sortedQuery(ServerHttpRequest request) {
+        Map<String, List<String>> params = new TreeMap<>(request.getQueryParams());
+        StringBuilder builder = new StringBuilder();
+        params.forEach((name, values) -> {
+            for (String value : values) {
+                builder.append(name).append('=').append(value).append('&');
+            }
+        });
+        return builder.toString();
+    }
+
+    /**
+     * 计入缓存 key 的请求头取值
+     */
+    private String keyedHeaders(ServerHttpRequest request) {
+        StringBuilder builder = new StringBuilder();
+        for (String name : KEYED_REQUEST_HEADERS) {
+            List<String> values = request.getHeaders().get(name);
+            builder.append(values == null ? "" : String.join(",", values)).append('&');
+        }
+        return builder.toString();
+    }
+
+    private Mono<Optional<CachedResponse>> lookup(String key) {
+        CachedResponse local = localCache.getIfPresent(key);
+        if (local != null) {
+            return Mono.just(Optional.of(local));
+        }
+        RBucket<CachedResponse> bucket = redissonUtil.getRedissonClient().getBucket(key);
+        return Mono.fromCompletionStage(bucket.getAsync())
+                .map(entry -> {
+                    localCache.put(key, entry);
+                    return Optional.of(entry);
+                })
+                .defaultIfEmpty(Optional.empty())
+                .onErrorResume(e -> {
+                    log.warn("读取响应缓存失败，key: {}", key, e);
+                    return Mono.just(Optional.empty());
+                });
+    }
+
+    private Mono<Void> serve(ServerWebExchange exchange, CachedResponse entry, String cacheStatus) {
+        ServerHttpResponse response = exchange.getResponse();
+        HttpHeaders headers = response.getHeaders();
+        entry.getHeaders().forEach(headers::put);
+        headers.setETag(entry.getEtag());
+        headers.set(CACHE_STATUS_HEADER, cacheStatus);
+        List<String> ifNoneMatch = exchange.getRequest().getHeaders().getIfNoneMatch();
+        if (ifNoneMatch.contains(entry.getEtag()) || ifNoneMatch.contains("*")) {
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            return response.setComplete();
+        }
+        response.setStatusCode(HttpStatusCode.valueOf(entry.getStatus()));
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(entry.getBody())));
+    }
+
+    /**
+     * 转发请求并在响应可缓存时写入两级缓存
+     */
+    private Mono<Void> fetchAndStore(ServerWebExchange exchange, GatewayFilterChain chain, ResponseCacheRule rule,
+                                     String key) {
+        int maxBodyBytes = appProperties.getResponseCache().getMaxBodyBytes();
+        ServerHttpResponse original = exchange.getResponse();
+        ServerHttpResponseDecorator decorated = new ServerHttpResponseDecorator(original) {
+            @Override
+            public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+                if (!isCacheable(this, maxBodyBytes)) {
+                    return super.writeWith(body);
+                }
+                // 累计超过上限前的分片合为一组，超过后每个分片单独成组；首组到达时即可判断是否溢出
+                AtomicInteger total = new AtomicInteger();
+                Flux<List<DataBuffer>> groups = Flux.from(body)
+                        .map(DataBuffer.class::cast)
+                        .bufferUntil(buffer -> total.addAndGet(buffer.readableByteCount()) > maxBodyBytes)
+                        .doOnDiscard(DataBuffer.class, DataBufferUtils::release);
+                return groups.switchOnFirst((first, all) -> {
+                    Flux<DataBuffer> buffers = all.flatMapIterable(Function.identity());
+                    if (total.get() > maxBodyBytes) {
+                        // 超过上限不缓存，已缓冲的分片与剩余分片按原顺序透传
+                        return super.writeWith(buffers);
+                    }
+                    return DataBufferUtils.join(buffers)
+                            .defaultIfEmpty(bufferFactory().wrap(new byte[0]))
+                            .flatMap(joined -> {
+                                byte[] bytes = new byte[joined.readableByteCount()];
+                                joined.read(bytes);
+                                DataBufferUtils.release(joined);
+                                CachedResponse entry = store(key, rule, this, bytes);
+                                getHeaders().setETag(entry.getEtag());
+                                getHeaders().set(CACHE_STATUS_HEADER, "MISS");
+                                return super.writeWith(Mono.just(bufferFactory().wrap(bytes)));
+                            });
+                }).then();
+            }
+        };
+        return chain.filter(exchange.mutate().response(decorated).build());
+    }
+
+    private boolean isCacheable(ServerHttpResponse response, int maxBodyBytes) {
+        HttpHeaders headers = response.getHeaders();
+        if (!HttpStatus.OK.equals(response.getStatusCode()) || headers.containsKey(HttpHeaders.SET_COOKIE)) {
+            return false;
+        }
+        String cacheControl = StrUtil.nullToEmpty(headers.getCacheControl());
+        if (cacheControl.contains("no-store") || cacheControl.contains("private")) {
+            return false;
+        }
+        String contentEncoding = headers.getFirst(HttpHeaders.CONTENT_ENCODING);
+        if (StrUtil.isNotBlank(contentEncoding) && !"identity".equalsIgnoreCase(contentEncoding.trim())) {
+            return false;
+        }
+        for (String vary : headers.getVary()) {
+            if (!HttpHeaders.ACCEPT_ENCODING.equalsIgnoreCase(vary)
+                    && KEYED_REQUEST_HEADERS.stream().noneMatch(vary::equalsIgnoreCase)) {
+                return false;
+            }
+        }
+        return headers.getContentLength() <= maxBodyBytes;
+    }
+
+    private CachedResponse store(String key, ResponseCacheRule rule, ServerHttpResponse response, byte[] body) {
+        Map<String, List<String>> headers = new LinkedHashMap<>();
+        for (String name : REPLAY_HEADERS) {
+            List<String> values = response.getHeaders().get(name);
+            if (values != null) {
+                headers.put(name, new ArrayList<>(values));
+            }
+        }
+        long now = System.currentTimeMillis();
+        long freshUntil = now + TimeUnit.SECONDS.toMillis(rule.getTtlSeconds());
+        long staleUntil = freshUntil + TimeUnit.SECONDS.toMillis(rule.getStaleSeconds());
+        CachedResponse entry = new CachedResponse(HttpStatus.OK.value(), headers, body,
+                "\"" + SecureUtil.md5().digestHex(body) + "\"", freshUntil, staleUntil);
+        localCache.put(key, entry);
+        RBucket<CachedResponse> bucket = redissonUtil.getRedissonClient().getBucket(key);
+        bucket.setAsync(entry, staleUntil - now, TimeUnit.MILLISECONDS).whenComplete((r, e) -> {
+            if (e != null) {
+                log.warn("写入响应缓存失败，key: {}", key, e);
+            }
+        });
+        return entry;
+    }
+
+    /**
+     * 后台重新请求本网关刷新缓存，请求带原请求头（含登录 token），经过完整的认证与限流流程
+     */
+    private void revalidate(ServerHttpRequest request, String key) {
+        if (localPort <= 0 || !revalidating.add(key)) {
+            return;
+        }
+        String uri = "http://127.0.0.1:" + localPort + request.getURI().getRawPath()
+                + (request.getURI().getRawQuery() != null ? "?" + request.getURI().getRawQuery() : "");
+        webClient.get()
+                .uri(URI.create(uri))
+                .headers(headers -> {
+                    headers.addAll(request.getHeaders());
+                    headers.remove(HttpHeaders.HOST);
+                    headers.remove(HttpHeaders.IF_NONE_MATCH);
+                    headers.remove(HttpHeaders.CONTENT_LENGTH);
+                    headers.set(REVALIDATE_HEADER, revalidateSecret);
+                })
+                .retrieve()
+                .toBodilessEntity()
+                .doFinally(signal -> revalidating.remove(key))
+                .subscribe(r -> {
+                }, e -> log.warn("后台刷新响应缓存失败，uri: {}", uri, e));
+    }
+
+    /**
+     * 本地条目在可返回旧响应的截止时间后过期，读取不续期
+     */
+    private static final class StaleExpiry implements Expiry<String, CachedResponse> {
+
+        @Override
+        public long expireAfterCreate(String key, CachedResponse value, long currentTime) {
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, value.getStaleUntil() - System.currentTimeMillis()));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, CachedResponse value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, CachedResponse value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
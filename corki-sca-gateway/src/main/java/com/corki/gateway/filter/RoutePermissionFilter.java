@@ -0,0 +1,101 @@
+package com.corki.gateway.filter;
+
+import cn.hutool.core.util.StrUtil;
+import com.corki.common.auth.CompiledPermissionList;
+import com.corki.common.auth.RoutePermissionTable;
+import com.corki.common.cache.AuthCacheManager;
+import com.corki.common.enums.ResponseEnum;
+import com.corki.gateway.config.AppProperties;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+
+/**
+ * 网关路由权限过滤器
+ * 按 {@link RoutePermissionTable} 查找请求路径所需的权限码，在转发前拒绝无权限的请求。
+ * 账号权限取自 {@link AuthCacheManager} 的两级缓存；缓存中没有该账号的权限时放行，由下游服务校验并回填缓存。
+ *
+ * @author Corki
+ * @since 2026-10-17
+ */
+@Slf4j
+@Component
+public class RoutePermissionFilter implements WebFilter, Ordered {
+
+    @Resource
+    private AppProperties appProperties;
+
+    @Resource
+    private RoutePermissionTable routePermissionTable;
+
+    @Resource
+    private AuthCacheManager authCacheManager;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        if (!appProperties.getAuth().isRoutePermission()) {
+            return chain.filter(exchange);
+        }
+        String loginType = exchange.getAttribute(TokenAuthFilter.LOGIN_TYPE_ATTR);
+        Object loginId = exchange.getAttribute(TokenAuthFilter.LOGIN_ID_ATTR);
+        if (loginType == null || loginId == null) {
+            return chain.filter(exchange);
+        }
+        String path = exchange.getRequest().getPath().value();
+        String required = routePermissionTable.match(path);
+        if (required == null) {
+            return chain.filter(exchange);
+        }
+        CompiledPermissionList local = authCacheManager.getLocalPermissions(loginType, loginId);
+        if (local != null) {
+            return check(exchange, chain, local, required, path);
+        }
+        // 本地未命中时读取 Redis 缓存，放到弹性线程池避免阻塞事件循环
+        return Mono.fromCallable(() -> Optional.ofNullable(authCacheManager.getCachedPermissions(loginType, loginId)))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(permissions -> permissions.isPresent()
+                        ? check(exchange, chain, permissions.get(), required, path)
+                        : chain.filter(exchange));
+    }
+
+    @Override
+    public int getOrder() {
+        // 在 TokenAuthFilter 之后执行
+        return -98;
+    }
+
+    private Mono<Void> check(ServerWebExchange exchange, WebFilterChain chain, CompiledPermissionList permissions,
+                             String required, String path) {
+        // 菜单权限标识可用逗号分隔多个，满足其一即可
+        for (String permission : StrUtil.splitTrim(required, ",")) {
+            if (permissions.matches(permission)) {
+                return chain.filter(exchange);
+            }
+        }
+        return reject(exchange, required, path);
+    }
+
+    private Mono<Void> reject(ServerWebExchange exchange, String required, String path) {
+        log.warn("网关权限校验失败, 缺少权限: {}, path: {}", required, path);
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.FORBIDDEN);
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        String body = String.format("{\"code\":%d,\"message\":\"%s\",\"data\":null}",
+                ResponseEnum.FORBIDDEN.getCode(), ResponseEnum.FORBIDDEN.getMsg());
+        DataBuffer buffer = response.bufferFactory().wrap(body.getBytes(StandardCharsets.UTF_8));
+        return response.writeWith(Mono.just(buffer));
+    }
+}
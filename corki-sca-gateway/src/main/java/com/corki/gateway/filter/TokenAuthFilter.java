@@ -0,0 +1,206 @@
+package com.corki.gateway.filter;
+
+import cn.dev33.satoken.stp.StpLogic;
+import cn.dev33.satoken.util.SaResult;
+import cn.hutool.core.util.StrUtil;
+import com.corki.common.auth.SignedStpLogic;
+import com.corki.common.auth.SignedToken;
+import com.corki.common.auth.SignedTokenCodec;
+import com.corki.common.auth.TokenInvalidateEvent;
+import com.corki.common.auth.TokenRevocationFilter;
+import com.corki.common.enums.ResponseEnum;
+import com.corki.common.utils.RedissonUtil;
+import com.corki.common.utils.StpAdminUtil;
+import com.corki.common.utils.StpMemberUtil;
+import com.corki.gateway.config.AppProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpCookie;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * 网关登录校验过滤器
+ * 替代在 SaReactorFilter 中直接调用 checkLogin：
+ * <ul>
+ *     <li>最近校验通过的 token 缓存在本地，命中时不访问 Redis</li>
+ *     <li>未命中时在独立的有界线程池中查询 token，不阻塞 Netty 事件循环</li>
+ *     <li>注销、踢人、顶人下线时各服务广播 {@link TokenInvalidateEvent}，本地缓存立即失效</li>
+ *     <li>启用无状态 token 的账号类型只校验签名并查询本地吊销布隆过滤器，布隆过滤器命中时回退到上述流程；
+ *     权限变更不影响认证，权限是否最新由 RoutePermissionFilter 经 AuthCacheManager 判断</li>
+ * </ul>
+ * 开启 active-timeout 时，缓存命中期间不会刷新 token 的最后活跃时间。
+ *
+ * @author Corki
+ * @since 2026-10-17
+ */
+@Slf4j
+@Component
+public class TokenAuthFilter implements WebFilter, Ordered {
+
+    /**
+     * 校验通过后写入 exchange 的账号类型属性
+     */
+    public static final String LOGIN_TYPE_ATTR = TokenAuthFilter.class.getName() + ".loginType";
+
+    /**
+     * 校验通过后写入 exchange 的账号ID属性
+     */
+    public static final String LOGIN_ID_ATTR = TokenAuthFilter.class.getName() + ".loginId";
+
+    private static final String ADMIN_PATTERN = "/admin/**";
+
+    private static final String MEMBER_PATTERN = "/member/**";
+
+    @Resource
+    private AppProperties appProperties;
+
+    @Resource
+    private RedissonUtil redissonUtil;
+
+    @Resource
+    private SignedTokenCodec signedTokenCodec;
+
+    @Resource
+    private TokenRevocationFilter tokenRevocationFilter;
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    /**
+     * loginType:token -> loginId
+     */
+    private Cache<String, Object> tokenCache;
+
+    private Scheduler authScheduler;
+
+    @PostConstruct
+    public void init() {
+        AppProperties.Auth auth = appProperties.getAuth();
+        tokenCache = Caffeine.newBuilder()
+                .maximumSize(auth.getLocalCacheMaximumSize())
+                .expireAfterWrite(Duration.ofSeconds(auth.getLocalCacheSeconds()))
+                .build();
+        authScheduler = Schedulers.newBoundedElastic(auth.getSchedulerThreads(), auth.getSchedulerQueueSize(), "gateway-auth");
+        redissonUtil.subscribe(TokenInvalidateEvent.TOPIC,
+                (channel, event) -> tokenCache.invalidate(cacheKey(event.getLoginType(), event.getTokenValue())),
+                TokenInvalidateEvent.class);
+    }
+
+    @PreDestroy
+    public void destroy() {
+        authScheduler.dispose();
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        String path = exchange.getRequest().getPath().value();
+        StpLogic stpLogic = resolveStpLogic(path);
+        if (stpLogic == null || isExcluded(path)) {
+            return chain.filter(exchange);
+        }
+        String token = readToken(exchange.getRequest(), stpLogic.getTokenName());
+        if (StrUtil.isBlank(token)) {
+            return reject(exchange, path);
+        }
+        if (stpLogic instanceof SignedStpLogic && SignedTokenCodec.isSigned(token)) {
+            SignedToken signed = signedTokenCodec.verify(token);
+            if (signed == null || !stpLogic.getLoginType().equals(signed.getLoginType())) {
+                return reject(exchange, path);
+            }
+            if (!tokenRevocationFilter.mightBeRevoked(token, signed)) {
+                return pass(exchange, chain, stpLogic, signed.getLoginId());
+            }
+            // 已吊销或布隆过滤器误判，交由 Sa-Token 会话最终确认
+        }
+        String cacheKey = cacheKey(stpLogic.getLoginType(), token);
+        Object cachedLoginId = tokenCache.getIfPresent(cacheKey);
+        if (cachedLoginId != null) {
+            return pass(exchange, chain, stpLogic, cachedLoginId);
+        }
+        // 包装为 Optional：chain.filter 完成时同样为空，不能用 switchIfEmpty 区分未登录
+        return Mono.fromCallable(() -> Optional.ofNullable(stpLogic.getLoginIdByToken(token)))
+                .subscribeOn(authScheduler)
+                .flatMap(loginId -> {
+                    if (loginId.isEmpty()) {
+                        return reject(exchange, path);
+                    }
+                    tokenCache.put(cacheKey, loginId.get());
+                    return pass(exchange, chain, stpLogic, loginId.get());
+                });
+    }
+
+    @Override
+    public int getOrder() {
+        // 在 Sa-Token 上下文过滤器之后、网关路由之前执行
+        return -99;
+    }
+
+    private Mono<Void> pass(ServerWebExchange exchange, WebFilterChain chain, StpLogic stpLogic, Object loginId) {
+        exchange.getAttributes().put(LOGIN_TYPE_ATTR, stpLogic.getLoginType());
+        exchange.getAttributes().put(LOGIN_ID_ATTR, loginId);
+        return chain.filter(exchange);
+    }
+
+    private StpLogic resolveStpLogic(String path) {
+        if (pathMatcher.match(ADMIN_PATTERN, path)) {
+            return StpAdminUtil.getStpLogic();
+        }
+        if (pathMatcher.match(MEMBER_PATTERN, path)) {
+            return StpMemberUtil.getStpLogic();
+        }
+        return null;
+    }
+
+    private boolean isExcluded(String path) {
+        for (String pattern : appProperties.getExcludePaths()) {
+            if (pathMatcher.match(pattern, path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private String readToken(ServerHttpRequest request, String tokenName) {
+        String token = request.getHeaders().getFirst(tokenName);
+        if (StrUtil.isBlank(token)) {
+            token = request.getQueryParams().getFirst(tokenName);
+        }
+        if (StrUtil.isBlank(token)) {
+            HttpCookie cookie = request.getCookies().getFirst(tokenName);
+            token = cookie != null ? cookie.getValue() : null;
+        }
+        return token;
+    }
+
+    private String cacheKey(String loginType, String token) {
+        return loginType + ":" + token;
+    }
+
+    private Mono<Void> reject(ServerWebExchange exchange, String path) {
+        log.warn("网关认证异常: 未登录, path: {}", path);
+        ServerHttpResponse response = exchange.getResponse();
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        String body = SaResult.error(ResponseEnum.UN_AUTH.getMsg()).toString();
+        DataBuffer buffer = response.bufferFactory().wrap(body.getBytes(StandardCharsets.UTF_8));
+        return response.writeWith(Mono.just(buffer));
+    }
+}
@@ -0,0 +1,53 @@
+package com.corki.gateway.utils;
+
+import com.corki.gateway.config.AppProperties;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.Resource;
+import org.springframework.cloud.gateway.support.ipresolver.RemoteAddressResolver;
+import org.springframework.cloud.gateway.support.ipresolver.XForwardedRemoteAddressResolver;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.net.InetSocketAddress;
+
+/**
+ * 客户端IP解析
+ * 只信任网关前 app.trustedProxies 层代理追加的 X-Forwarded-For 条目，客户端自带的部分不参与解析；
+ * 未配置可信代理时直接使用 TCP 对端地址，避免伪造请求头绕过按IP限流。
+ *
+ * @author Corki
+ * @since 2026-10-17
+ */
+@Component
+public class ClientIpResolver {
+
+    private static final String UNKNOWN = "unknown";
+
+    @Resource
+    private AppProperties appProperties;
+
+    private RemoteAddressResolver resolver;
+
+    @PostConstruct
+    public void init() {
+        int trustedProxies = appProperties.getTrustedProxies();
+        resolver = trustedProxies > 0
+                ? XForwardedRemoteAddressResolver.maxTrustedIndex(trustedProxies)
+                : new RemoteAddressResolver() {
+                };
+    }
+
+    /**
+     * 解析客户端IP
+     *
+     * @param exchange 当前请求
+     * @return 客户端IP，无法解析时返回 unknown
+     */
+    public String resolve(ServerWebExchange exchange) {
+        InetSocketAddress address = resolver.resolve(exchange);
+        if (address == null) {
+            return UNKNOWN;
+        }
+        return address.getAddress() != null ? address.getAddress().getHostAddress() : address.getHostString();
+    }
+}
@@ -0,0 +1,25 @@
+-- 滑动窗口限流（双窗口加权近似，单个 hash 保存当前与上一个窗口的计数）
+-- KEYS[1] 窗口key  ARGV[1] 窗口内最大请求数  ARGV[2] 窗口长度（毫秒）  ARGV[3] 本次申请数
+-- 返回窗口内剩余可用数（向下取整），超限返回 -1
+local limit = tonumber(ARGV[1])
+local window = tonumber(ARGV[2])
+local requested = tonumber(ARGV[3])
+
+local time = redis.call('TIME')
+local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+local current = math.floor(now / window)
+
+local previousCount = tonumber(redis.call('HGET', KEYS[1], tostring(current - 1)) or '0')
+local currentCount = tonumber(redis.call('HGET', KEYS[1], tostring(current)) or '0')
+-- 上一个窗口按未滑出部分的比例计入
+local weight = 1 - (now % window) / window
+local estimated = previousCount * weight + currentCount
+
+if estimated + requested > limit then
+    return -1
+end
+
+redis.call('HINCRBY', KEYS[1], tostring(current), requested)
+redis.call('HDEL', KEYS[1], tostring(current - 2))
+redis.call('PEXPIRE', KEYS[1], window * 2)
+return math.floor(limit - estimated - requested)
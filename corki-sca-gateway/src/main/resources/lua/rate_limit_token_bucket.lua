@@ -0,0 +1,29 @@
+-- 令牌桶限流
+-- KEYS[1] 桶key  ARGV[1] 桶容量  ARGV[2] 每秒补充令牌数  ARGV[3] 本次申请令牌数
+-- 返回剩余令牌数（向下取整），令牌不足返回 -1
+local capacity = tonumber(ARGV[1])
+local rate = tonumber(ARGV[2])
+local requested = tonumber(ARGV[3])
+
+local time = redis.call('TIME')
+local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+
+local bucket = redis.call('HMGET', KEYS[1], 'tokens', 'ts')
+local tokens = tonumber(bucket[1])
+local ts = tonumber(bucket[2])
+if tokens == nil or ts == nil then
+    tokens = capacity
+    ts = now
+end
+
+tokens = math.min(capacity, tokens + math.max(0, now - ts) * rate / 1000)
+local remaining = -1
+if tokens >= requested then
+    tokens = tokens - requested
+    remaining = math.floor(tokens)
+end
+
+redis.call('HSET', KEYS[1], 'tokens', tostring(tokens), 'ts', tostring(now))
+-- 桶从空到满所需时间后自动过期
+redis.call('PEXPIRE', KEYS[1], math.ceil(capacity / rate * 1000) + 1000)
+return remaining
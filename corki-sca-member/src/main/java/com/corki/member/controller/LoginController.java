@@ -2,6 +2,7 @@ package com.corki.member.controller;
 
 
 import com.corki.common.model.R;
+import com.corki.common.utils.AsyncRequestExecutor;
 import com.corki.member.model.AccountPwdLoginReq;
 import com.corki.member.model.LoginUserRsp;
 import com.corki.member.service.ILoginService;
@@ -12,6 +13,8 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * 登录控制器
  *
@@ -26,15 +29,19 @@ public class LoginController {
     @Resource
     private ILoginService loginService;
 
+    @Resource
+    private AsyncRequestExecutor asyncRequestExecutor;
+
 
     /**
      * 账密登录
+     * 在虚拟线程中执行，等待密码哈希时不占用 Tomcat 线程
      *
      * @param req 请求
      * @return {@link R }<{@link LoginUserRsp }>
      */
     @PostMapping("/accountPwdLogin")
-    public R<LoginUserRsp> accountPwdLogin(@RequestBody AccountPwdLoginReq req) {
-        return loginService.accountPwdLogin(req);
+    public CompletableFuture<R<LoginUserRsp>> accountPwdLogin(@RequestBody AccountPwdLoginReq req) {
+        return asyncRequestExecutor.supply(() -> loginService.accountPwdLogin(req));
     }
 }
@@ -1,12 +1,90 @@
 package com.corki.member.dao.service;
 
-import org.springframework.stereotype.Service;
-import org.springframework.beans.factory.annotation.Autowired;
-import java.util.List;
+import cn.hutool.core.bean.BeanUtil;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import com.corki.common.auth.LoginCredential;
+import com.corki.common.auth.LoginCredentialCache;
+import com.corki.common.utils.StpMemberUtil;
 import com.corki.member.dao.entity.Member;
 import com.corki.member.dao.mapper.MemberMapper;
+import jakarta.annotation.Resource;
+import org.springframework.stereotype.Service;
+
+import java.io.Serializable;
+
+/**
+ * 会员 服务层
+ * 登录凭证相关列（用户名、密码、状态及登录响应字段）须通过 save / updateById / removeById 修改，
+ * 或在修改后调用 {@link #evictLoginCredential}，否则登录凭证缓存要到过期后才会更新；
+ * updateBatchById 不会失效缓存，只用于写最后登录时间等不在凭证中的列。
+ *
+ * @author Corki
+ * @since 2026-10-17
+ */
 @Service
 public class MemberService extends ServiceImpl<MemberMapper, Member> {
 
+    @Resource
+    private LoginCredentialCache loginCredentialCache;
+
+    /**
+     * 按用户名获取登录凭证，优先读缓存
+     *
+     * @param username 用户名
+     * @return 凭证，用户不存在返回 null
+     */
+    public LoginCredential getLoginCredential(String username) {
+        return loginCredentialCache.get(StpMemberUtil.TYPE, username, name -> {
+            Member member = lambdaQuery()
+                    .select(Member::getId, Member::getUsername, Member::getPassword, Member::getStatus,
+                            Member::getEmail, Member::getMobile, Member::getRegistrationTime)
+                    .eq(Member::getUsername, name)
+                    .last("limit 1")
+                    .one();
+            return member == null ? null : BeanUtil.copyProperties(member, LoginCredential.class);
+        });
+    }
+
+    /**
+     * 失效登录凭证缓存
+     */
+    public void evictLoginCredential(String username) {
+        loginCredentialCache.invalidate(StpMemberUtil.TYPE, username);
+    }
+
+    @Override
+    public boolean save(Member entity) {
+        boolean saved = super.save(entity);
+        // 清除该用户名的负缓存
+        evictLoginCredential(entity.getUsername());
+        return saved;
+    }
+
+    @Override
+    public boolean updateById(Member entity) {
+        // 用户名可能被修改，新旧用户名都要失效
+        String oldUsername = usernameOf(entity.getId());
+        boolean updated = super.updateById(entity);
+        evictLoginCredential(oldUsername);
+        if (entity.getUsername() != null && !entity.getUsername().equals(oldUsername)) {
+            evictLoginCredential(entity.getUsername());
+        }
+        return updated;
+    }
+
+    @Override
+    public boolean removeById(Serializable id) {
+        String username = usernameOf(id);
+        boolean removed = super.removeById(id);
+        evictLoginCredential(username);
+        return removed;
+    }
+
+    private String usernameOf(Serializable id) {
+        if (id == null) {
+            return null;
+        }
+        Member entity = lambdaQuery().select(Member::getUsername).eq(Member::getId, id).one();
+        return entity != null ? entity.getUsername() : null;
+    }
 }
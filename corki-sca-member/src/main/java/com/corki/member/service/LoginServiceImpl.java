@@ -1,10 +1,14 @@
 package com.corki.member.service;
 
-import cn.dev33.satoken.secure.SaSecureUtil;
 import cn.dev33.satoken.stp.SaTokenInfo;
 import cn.hutool.core.bean.BeanUtil;
+import com.corki.common.auth.LoginCredential;
+import com.corki.common.auth.LoginThrottle;
+import com.corki.common.auth.PasswordCheck;
+import com.corki.common.auth.PasswordService;
 import com.corki.common.enums.ResponseEnum;
 import com.corki.common.model.R;
+import com.corki.common.utils.ClientIpUtil;
 import com.corki.common.utils.StpMemberUtil;
 import com.corki.member.dao.entity.Member;
 import com.corki.member.dao.service.MemberService;
@@ -20,6 +24,13 @@ public class LoginServiceImpl implements ILoginService {
 
     @Resource
     private MemberService memberService;
+
+    @Resource
+    private PasswordService passwordService;
+
+    @Resource
+    private LoginThrottle loginThrottle;
+
     /**
      * 账号密码登录
      *
@@ -30,21 +41,41 @@ public class LoginServiceImpl implements ILoginService {
     public R<LoginUserRsp> accountPwdLogin(AccountPwdLoginReq req) {
         String username = req.getUsername();
         String password = req.getPassword();
-        Member member = memberService.lambdaQuery()
-                .eq(Member::getUsername, username)
-                .last("limit 1")
-                .one();
-        if (member == null) {
+        // 失败次数检查在查库之前；会员端没有验证码，只在达到锁定阈值后拒绝
+        String ip = ClientIpUtil.getClientIp();
+        if (loginThrottle.check(StpMemberUtil.TYPE, username, ip) == LoginThrottle.State.LOCKED) {
+            return R.fail(ResponseEnum.LOGIN_LOCKED);
+        }
+        // 优先读登录凭证缓存，不存在的用户名同样被缓存
+        LoginCredential credential = memberService.getLoginCredential(username);
+        if (credential == null) {
+            loginThrottle.recordFailure(StpMemberUtil.TYPE, username, ip);
             return R.fail(ResponseEnum.USER_NOT_EXIST);
         }
 
-        if (!SaSecureUtil.md5(password).equals(member.getPassword())) {
+        Member member = BeanUtil.copyProperties(credential, Member.class);
+        PasswordCheck passwordCheck = passwordService.verify(password, member.getPassword());
+        if (!passwordCheck.matched()) {
+            loginThrottle.recordFailure(StpMemberUtil.TYPE, username, ip);
             return R.fail(ResponseEnum.USER_PASSWORD_ERROR);
         }
-        // 更新登录信息, 登录日志
+        loginThrottle.reset(StpMemberUtil.TYPE, username);
+        // 旧 MD5 密码升级为 BCrypt 并失效凭证缓存；最后登录信息不在凭证中，只更新这两列
+        if (passwordCheck.upgradedHash() != null) {
+            member.setPassword(passwordCheck.upgradedHash());
+            // 经 updateById 修改，由其负责失效登录凭证缓存
+            Member update = new Member();
+            update.setId(member.getId());
+            update.setPassword(passwordCheck.upgradedHash());
+            memberService.updateById(update);
+        }
         member.setLastLoginTime(LocalDateTime.now());
         member.setLastLoginDevice(req.getDeviceType());
-        memberService.updateById(member);
+        memberService.lambdaUpdate()
+                .set(Member::getLastLoginTime, member.getLastLoginTime())
+                .set(Member::getLastLoginDevice, member.getLastLoginDevice())
+                .eq(Member::getId, member.getId())
+                .update();
 
         StpMemberUtil.login(member.getId(), String.valueOf(req.getDeviceType()));
         LoginUserRsp loginUserRsp = BeanUtil.copyProperties(member, LoginUserRsp.class);